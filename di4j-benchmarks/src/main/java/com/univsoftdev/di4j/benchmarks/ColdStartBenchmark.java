@@ -0,0 +1,165 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import com.univsoftdev.di4j.ClassScanner;
+import com.univsoftdev.di4j.Configuration;
+import com.univsoftdev.di4j.Injector;
+import com.univsoftdev.di4j.ScanMode;
+import com.univsoftdev.di4j.StartupReport;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures cold startup on synthetic graphs of 1k, 10k and 50k components
+ * from {@link GraphGenerator}, loaded from a class directory or a jar. Every
+ * fork is a fresh JVM that runs one single-shot construction, so class
+ * loading, static initialization and JIT warm-up are all part of the score.
+ * <p>
+ * {@link #construct()} is the plain constructor time. {@link #scan()} is
+ * the component scan alone. {@link #constructProfiled(StartupPhases)}
+ * enables startup profiling and reports the duration of each constructor
+ * phase and the heap retained by the injector as secondary results; its
+ * score includes a full GC and the profiling overhead.
+ * <p>
+ * Graphs are generated into the directory named by the
+ * {@code di4j.graphs} system property, {@code target/synthetic-graphs} by
+ * default, and reused by later forks and runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class ColdStartBenchmark {
+
+    public enum Packaging {
+        DIRECTORY, JAR
+    }
+
+    @Param({"1000", "10000", "50000"})
+    public int components;
+
+    @Param({"DIRECTORY", "JAR"})
+    public Packaging packaging;
+
+    @Param({"CLASS_FILE"})
+    public ScanMode scanMode;
+
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path workDirectory = Paths.get(System.getProperty("di4j.graphs", "target/synthetic-graphs"));
+        GraphGenerator.GeneratedGraph graph = new GraphGenerator()
+                .setComponents(components)
+                .generate(workDirectory);
+        Path location = packaging == Packaging.JAR ? graph.getJar() : graph.getClassesDirectory();
+        classLoader = new URLClassLoader(new URL[]{location.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+    }
+
+    private Configuration configuration() {
+        return new Configuration()
+                .setBasePackages(GraphGenerator.BASE_PACKAGE)
+                .setScanMode(scanMode);
+    }
+
+    @Benchmark
+    public Injector construct() {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return new Injector(configuration());
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Benchmark
+    public Set<Class<?>> scan() {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return ClassScanner.scanForComponents(new String[]{GraphGenerator.BASE_PACKAGE}, scanMode, 1);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Benchmark
+    public Injector constructProfiled(StartupPhases phases) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        Injector injector;
+        try {
+            injector = new Injector(configuration().setStartupProfiling(true));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+        for (StartupReport.Phase phase : injector.getStartupReport().getPhases()) {
+            double millis = phase.getDurationNanos() / 1_000_000.0;
+            switch (phase.getName()) {
+                case "scan" -> phases.scanMillis = millis;
+                case "register" -> phases.registerMillis = millis;
+                case "validate" -> phases.validateMillis = millis;
+                case "initialize" -> phases.initializeMillis = millis;
+                default -> {
+                }
+            }
+        }
+        System.gc();
+        phases.retainedMegabytes = (memory.getHeapMemoryUsage().getUsed() - heapBefore) / (1024.0 * 1024.0);
+        return injector;
+    }
+
+    /**
+     * The secondary results of {@link #constructProfiled(StartupPhases)}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StartupPhases {
+
+        public double scanMillis;
+        public double registerMillis;
+        public double validateMillis;
+        public double initializeMillis;
+
+        /**
+         * The growth of the used heap over the construction, measured after
+         * a full GC on both sides: the injector, its definitions and the
+         * eager singletons.
+         */
+        public double retainedMegabytes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs every {@link ResolveBenchmark} on four threads sharing one injector,
+ * to expose contention in the singleton cache, the resolution cache and
+ * Lazy references.
+ */
+@Threads(4)
+public class ConcurrentResolveBenchmark extends ResolveBenchmark {
+}
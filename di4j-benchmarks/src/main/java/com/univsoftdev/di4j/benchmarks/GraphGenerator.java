@@ -0,0 +1,412 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates a synthetic component graph, compiles it and packages it both as
+ * a class directory and as a jar, to measure how startup scales with the
+ * number of components.
+ * <p>
+ * The components are split into {@code depth} levels. Each component
+ * injects {@code fanOut} components of the next level through its
+ * constructor, so the graph has no cycles. A share of the components also
+ * implement an interface and are injected through it, carry an explicit
+ * qualifier and are injected with it, are prototypes, or are lazy. The
+ * choice is random but fixed by the seed, so the same settings always
+ * produce the same graph. Components are spread over subpackages of
+ * {@link #BASE_PACKAGE} of at most {@code packageSize} classes each.
+ */
+public final class GraphGenerator {
+
+    /**
+     * The package containing every generated component.
+     */
+    public static final String BASE_PACKAGE = "di4j.synthetic";
+
+    private static final String ANNOTATIONS = "com.univsoftdev.di4j.annotations.";
+
+    /**
+     * The number of source files compiled per javac invocation.
+     */
+    private static final int COMPILE_BATCH = 2000;
+
+    private int components = 1000;
+    private int fanOut = 3;
+    private int depth = 8;
+    private double interfaceShare = 0.3;
+    private double qualifierShare = 0.1;
+    private double prototypeShare = 0.1;
+    private double lazyShare = 0.2;
+    private int packageSize = 500;
+    private long seed = 42;
+
+    public GraphGenerator setComponents(int components) {
+        if (components < 1) {
+            throw new IllegalArgumentException("At least one component is required: " + components);
+        }
+        this.components = components;
+        return this;
+    }
+
+    /**
+     * Sets the number of dependencies of each component outside the last
+     * level, capped by the size of the next level.
+     */
+    public GraphGenerator setFanOut(int fanOut) {
+        if (fanOut < 0) {
+            throw new IllegalArgumentException("The fan-out cannot be negative: " + fanOut);
+        }
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * Sets the number of levels, and so the length of the longest
+     * dependency chain.
+     */
+    public GraphGenerator setDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("At least one level is required: " + depth);
+        }
+        this.depth = depth;
+        return this;
+    }
+
+    public GraphGenerator setInterfaceShare(double interfaceShare) {
+        this.interfaceShare = share(interfaceShare);
+        return this;
+    }
+
+    public GraphGenerator setQualifierShare(double qualifierShare) {
+        this.qualifierShare = share(qualifierShare);
+        return this;
+    }
+
+    public GraphGenerator setPrototypeShare(double prototypeShare) {
+        this.prototypeShare = share(prototypeShare);
+        return this;
+    }
+
+    public GraphGenerator setLazyShare(double lazyShare) {
+        this.lazyShare = share(lazyShare);
+        return this;
+    }
+
+    public GraphGenerator setPackageSize(int packageSize) {
+        if (packageSize < 1) {
+            throw new IllegalArgumentException("A package holds at least one component: " + packageSize);
+        }
+        this.packageSize = packageSize;
+        return this;
+    }
+
+    public GraphGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    private static double share(double share) {
+        if (share < 0 || share > 1) {
+            throw new IllegalArgumentException("A share must be between 0 and 1: " + share);
+        }
+        return share;
+    }
+
+    /**
+     * Returns a name identifying the settings, used as the directory name of
+     * the generated graph.
+     */
+    public String getName() {
+        return String.format(Locale.ROOT, "graph-n%d-f%d-d%d-i%.2f-q%.2f-p%.2f-l%.2f-k%d-s%d", components, fanOut,
+                depth, interfaceShare, qualifierShare, prototypeShare, lazyShare, packageSize, seed);
+    }
+
+    /**
+     * Generates, compiles and packages the graph below a work directory,
+     * unless a previous call already did so for the same settings.
+     *
+     * @param workDirectory The directory holding the generated graphs.
+     * @return The class directory and jar of the graph.
+     * @throws IOException If the graph cannot be written or compiled.
+     */
+    public GeneratedGraph generate(Path workDirectory) throws IOException {
+        Path root = workDirectory.resolve(getName());
+        GeneratedGraph graph = new GeneratedGraph(root.resolve("classes"), root.resolve("graph.jar"), components);
+        Path marker = root.resolve("complete");
+        if (Files.exists(marker)) {
+            return graph;
+        }
+        deleteRecursively(root);
+        Path sources = root.resolve("sources");
+        List<List<Path>> packages = writeSources(sources);
+        compile(packages, graph.getClassesDirectory());
+        writeJar(graph.getClassesDirectory(), graph.getJar());
+        Files.writeString(marker, getName());
+        return graph;
+    }
+
+    /**
+     * Writes the source files of the graph.
+     *
+     * @param sources The source root.
+     * @return The source files of each subpackage, in package order.
+     */
+    private List<List<Path>> writeSources(Path sources) throws IOException {
+        Random random = new Random(seed);
+        boolean[] hasInterface = new boolean[components];
+        boolean[] qualified = new boolean[components];
+        boolean[] prototype = new boolean[components];
+        boolean[] lazy = new boolean[components];
+        for (int i = 0; i < components; i++) {
+            hasInterface[i] = random.nextDouble() < interfaceShare;
+            qualified[i] = random.nextDouble() < qualifierShare;
+            prototype[i] = random.nextDouble() < prototypeShare;
+            lazy[i] = random.nextDouble() < lazyShare;
+        }
+
+        List<List<Path>> packages = new ArrayList<>();
+        for (int i = 0; i < components; i++) {
+            int packageIndex = i / packageSize;
+            if (packageIndex == packages.size()) {
+                packages.add(new ArrayList<>());
+            }
+            Path directory = sources.resolve(packageOf(i).replace('.', '/'));
+            Files.createDirectories(directory);
+            List<Path> files = packages.get(packageIndex);
+
+            StringBuilder source = new StringBuilder("package ").append(packageOf(i)).append(";\n\n");
+            if (hasInterface[i]) {
+                Path file = directory.resolve("I" + i + ".java");
+                Files.writeString(file, source + "public interface I" + i + " {\n}\n", StandardCharsets.UTF_8);
+                files.add(file);
+            }
+            source.append('@').append(ANNOTATIONS).append("Component\n");
+            if (qualified[i]) {
+                source.append('@').append(ANNOTATIONS).append("Qualifier(\"q").append(i).append("\")\n");
+            }
+            if (prototype[i]) {
+                source.append('@').append(ANNOTATIONS)
+                        .append("Scope(com.univsoftdev.di4j.ScopeType.PROTOTYPE)\n");
+            }
+            if (lazy[i]) {
+                source.append('@').append(ANNOTATIONS).append("Lazy\n");
+            }
+            source.append("public class C").append(i);
+            if (hasInterface[i]) {
+                source.append(" implements I").append(i);
+            }
+            source.append(" {\n\n    @").append(ANNOTATIONS).append("Inject\n    public C").append(i).append('(');
+            List<Integer> dependencies = dependenciesOf(i, random);
+            for (int d = 0; d < dependencies.size(); d++) {
+                int dependency = dependencies.get(d);
+                source.append(d == 0 ? "" : ", ");
+                if (qualified[dependency]) {
+                    source.append('@').append(ANNOTATIONS).append("Qualifier(\"q").append(dependency).append("\") ");
+                }
+                source.append(packageOf(dependency)).append(hasInterface[dependency] ? ".I" : ".C")
+                        .append(dependency).append(" d").append(d);
+            }
+            source.append(") {\n    }\n}\n");
+            Path file = directory.resolve("C" + i + ".java");
+            Files.writeString(file, source, StandardCharsets.UTF_8);
+            files.add(file);
+        }
+        return packages;
+    }
+
+    /**
+     * Picks the dependencies of a component among the components of the
+     * next level.
+     */
+    private List<Integer> dependenciesOf(int component, Random random) {
+        int level = levelOf(component);
+        if (level == depth - 1) {
+            return Collections.emptyList();
+        }
+        int first = firstOfLevel(level + 1);
+        int size = firstOfLevel(level + 2) - first;
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<Integer> dependencies = new ArrayList<>();
+        for (int candidate : random.ints(first, first + size).distinct().limit(Math.min(fanOut, size)).toArray()) {
+            dependencies.add(candidate);
+        }
+        return dependencies;
+    }
+
+    private int levelOf(int component) {
+        return (int) ((long) component * depth / components);
+    }
+
+    /**
+     * Returns the first component of a level; levels are contiguous ranges.
+     */
+    private int firstOfLevel(int level) {
+        if (level >= depth) {
+            return components;
+        }
+        return (int) (((long) level * components + depth - 1) / depth);
+    }
+
+    private String packageOf(int component) {
+        return String.format(Locale.ROOT, "%s.p%04d", BASE_PACKAGE, component / packageSize);
+    }
+
+    /**
+     * Compiles the sources in batches of whole packages, last package first.
+     * Dependencies always point to later components, so every batch finds
+     * the classes it needs either in itself or in the output directory.
+     */
+    private static void compile(List<List<Path>> packages, Path classes) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("No Java compiler available, run the generator on a JDK");
+        }
+        Files.createDirectories(classes);
+        String classPath = classes + System.getProperty("path.separator") + System.getProperty("java.class.path");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.ROOT,
+                StandardCharsets.UTF_8)) {
+            List<Path> batch = new ArrayList<>();
+            for (int i = packages.size() - 1; i >= 0; i--) {
+                batch.addAll(packages.get(i));
+                if (batch.size() >= COMPILE_BATCH || i == 0) {
+                    Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(batch);
+                    List<String> options = List.of("-proc:none", "-nowarn", "-d", classes.toString(),
+                            "-cp", classPath);
+                    if (!compiler.getTask(null, fileManager, null, options, null, units).call()) {
+                        throw new IOException("Compilation of the generated graph failed");
+                    }
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Packages a class directory into a jar. Directory entries are written
+     * too, so that class loaders find the packages as resources.
+     */
+    private static void writeJar(Path classes, Path jar) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        List<Path> entries;
+        try (Stream<Path> walk = Files.walk(classes)) {
+            entries = walk.filter(path -> !path.equals(classes)).sorted().toList();
+        }
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+            for (Path path : entries) {
+                String name = classes.relativize(path).toString().replace('\\', '/');
+                if (Files.isDirectory(path)) {
+                    jarOut.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jarOut.putNextEntry(new JarEntry(name));
+                    Files.copy(path, jarOut);
+                }
+                jarOut.closeEntry();
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Collections.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Generates a graph from the command line: the work directory followed
+     * by {@code name=value} settings, for example
+     * {@code target/graphs components=10000 fanOut=4 lazyShare=0.5}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: GraphGenerator <work directory> [components=N] [fanOut=N] [depth=N]"
+                    + " [interfaceShare=X] [qualifierShare=X] [prototypeShare=X] [lazyShare=X]"
+                    + " [packageSize=N] [seed=N]");
+            System.exit(2);
+        }
+        GraphGenerator generator = new GraphGenerator();
+        for (int i = 1; i < args.length; i++) {
+            String[] setting = args[i].split("=", 2);
+            if (setting.length != 2) {
+                throw new IllegalArgumentException("Expected name=value: " + args[i]);
+            }
+            switch (setting[0]) {
+                case "components" -> generator.setComponents(Integer.parseInt(setting[1]));
+                case "fanOut" -> generator.setFanOut(Integer.parseInt(setting[1]));
+                case "depth" -> generator.setDepth(Integer.parseInt(setting[1]));
+                case "interfaceShare" -> generator.setInterfaceShare(Double.parseDouble(setting[1]));
+                case "qualifierShare" -> generator.setQualifierShare(Double.parseDouble(setting[1]));
+                case "prototypeShare" -> generator.setPrototypeShare(Double.parseDouble(setting[1]));
+                case "lazyShare" -> generator.setLazyShare(Double.parseDouble(setting[1]));
+                case "packageSize" -> generator.setPackageSize(Integer.parseInt(setting[1]));
+                case "seed" -> generator.setSeed(Long.parseLong(setting[1]));
+                default -> throw new IllegalArgumentException("Unknown setting: " + setting[0]);
+            }
+        }
+        GeneratedGraph graph = generator.generate(Paths.get(args[0]));
+        System.out.println(graph.getComponents() + " components in " + graph.getClassesDirectory()
+                + " and " + graph.getJar());
+    }
+
+    /**
+     * A generated graph, compiled into a class directory and packaged into a
+     * jar with the same contents.
+     */
+    public static final class GeneratedGraph {
+
+        private final Path classesDirectory;
+        private final Path jar;
+        private final int components;
+
+        GeneratedGraph(Path classesDirectory, Path jar, int components) {
+            this.classesDirectory = classesDirectory;
+            this.jar = jar;
+            this.components = components;
+        }
+
+        public Path getClassesDirectory() {
+            return classesDirectory;
+        }
+
+        public Path getJar() {
+            return jar;
+        }
+
+        public int getComponents() {
+            return components;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import com.univsoftdev.di4j.Injector;
+import com.univsoftdev.di4j.benchmarks.beans.EnglishGreeter;
+import com.univsoftdev.di4j.benchmarks.beans.Greeter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Injector#getInstance(Class)} on an injector configured by
+ * a module binding an interface to an implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ModuleBenchmark {
+
+    private Injector injector;
+
+    @Setup
+    public void setUp() {
+        injector = new Injector(binder -> binder.bind(Greeter.class, EnglishGreeter.class));
+        injector.getInstance(Greeter.class);
+    }
+
+    @Benchmark
+    public Greeter getInstance() {
+        return injector.getInstance(Greeter.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Greeter getInstanceConcurrently() {
+        return injector.getInstance(Greeter.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import com.univsoftdev.di4j.Configuration;
+import com.univsoftdev.di4j.Injector;
+import com.univsoftdev.di4j.Lazy;
+import com.univsoftdev.di4j.benchmarks.beans.EnglishGreeter;
+import com.univsoftdev.di4j.benchmarks.beans.FrenchGreeter;
+import com.univsoftdev.di4j.benchmarks.beans.Greeter;
+import com.univsoftdev.di4j.benchmarks.beans.PrototypeService;
+import com.univsoftdev.di4j.benchmarks.beans.SingletonService;
+import com.univsoftdev.di4j.benchmarks.beans.SupplierClient;
+import com.univsoftdev.di4j.benchmarks.beans.ValueClient;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution paths of a started injector on a single thread,
+ * with and without {@link Injector#freeze()}. Every benchmark returns its
+ * result so that JMH consumes it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(1)
+public class ResolveBenchmark {
+
+    @Param({"false", "true"})
+    public boolean frozen;
+
+    private Injector injector;
+    private Lazy<SingletonService> resolvedLazy;
+
+    @Setup
+    public void setUp() {
+        injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        Properties properties = new Properties();
+        properties.setProperty("benchmark.name", "di4j");
+        properties.setProperty("benchmark.iterations", "42");
+        injector.loadProperties(() -> properties);
+        injector.register(SingletonService.class);
+        injector.register(PrototypeService.class);
+        injector.register(EnglishGreeter.class);
+        injector.register(FrenchGreeter.class);
+        injector.register(SupplierClient.class);
+        injector.register(ValueClient.class);
+        if (frozen) {
+            injector.freeze();
+        }
+        resolvedLazy = new Lazy<>(injector, SingletonService.class);
+        resolvedLazy.get();
+    }
+
+    @Benchmark
+    public SingletonService singletonResolve() {
+        return injector.resolve(SingletonService.class);
+    }
+
+    @Benchmark
+    public PrototypeService prototypeResolve() {
+        return injector.resolve(PrototypeService.class);
+    }
+
+    /**
+     * Resolves an interface with two implementations, one of them @Primary.
+     */
+    @Benchmark
+    public Greeter primaryInterfaceResolve() {
+        return injector.resolve(Greeter.class);
+    }
+
+    @Benchmark
+    public Greeter qualifiedResolve() {
+        return injector.resolveQualified(Greeter.class, "french");
+    }
+
+    /**
+     * Reads a Lazy reference that has already resolved its bean.
+     */
+    @Benchmark
+    public SingletonService lazyGet() {
+        return resolvedLazy.get();
+    }
+
+    /**
+     * Creates a Lazy reference and resolves its bean.
+     */
+    @Benchmark
+    public SingletonService lazyFirstGet() {
+        return new Lazy<>(injector, SingletonService.class).get();
+    }
+
+    /**
+     * Creates a prototype with a Supplier constructor parameter.
+     */
+    @Benchmark
+    public SupplierClient supplierInjection() {
+        return injector.resolve(SupplierClient.class);
+    }
+
+    /**
+     * Creates a prototype with a String and an int @Value field.
+     */
+    @Benchmark
+    public ValueClient valueInjection() {
+        return injector.resolve(ValueClient.class);
+    }
+}
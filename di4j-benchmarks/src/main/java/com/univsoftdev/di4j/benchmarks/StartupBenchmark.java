@@ -0,0 +1,40 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import com.univsoftdev.di4j.Configuration;
+import com.univsoftdev.di4j.Injector;
+import com.univsoftdev.di4j.ScanMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the full {@link Injector} constructor: scanning the benchmark
+ * beans package, registering and validating the components and creating the
+ * eager singletons.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StartupBenchmark {
+
+    @Param({"REFLECTION", "CLASS_FILE"})
+    public ScanMode scanMode;
+
+    @Benchmark
+    public Injector construct() {
+        return new Injector(new Configuration()
+                .setBasePackages("com.univsoftdev.di4j.benchmarks.beans")
+                .setScanMode(scanMode));
+    }
+}
@@ -0,0 +1,96 @@
+package com.univsoftdev.di4j.benchmarks;
+
+import com.univsoftdev.di4j.Configuration;
+import com.univsoftdev.di4j.Injector;
+import com.univsoftdev.di4j.Lazy;
+import com.univsoftdev.di4j.benchmarks.beans.SlowSingletons;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.consumer.RecordingStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starts 100k virtual threads that resolve lazy singletons with slow
+ * initializers through shared and fresh {@link Lazy} references, on a new
+ * injector per iteration so that every iteration waits for the
+ * initializers. While a virtual thread waits for a creation lock it must
+ * unmount: the benchmark records {@code jdk.VirtualThreadPinned} events and
+ * fails the trial if any was reported.
+ * <p>
+ * With pinning, the threads queue on the few carrier threads and the score
+ * grows with the number of threads; without it, it stays close to the
+ * initializer time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=4")
+public class VirtualThreadPinningBenchmark {
+
+    @Param({"100000"})
+    public int threads;
+
+    private final LongAdder pinned = new LongAdder();
+    private RecordingStream pinnedEvents;
+    private Injector injector;
+    private Lazy<?>[] sharedLazies;
+
+    @Setup(Level.Trial)
+    public void startRecording() {
+        pinnedEvents = new RecordingStream();
+        pinnedEvents.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+        pinnedEvents.onEvent("jdk.VirtualThreadPinned", event -> pinned.increment());
+        pinnedEvents.startAsync();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        sharedLazies = new Lazy<?>[SlowSingletons.TYPES.length];
+        for (int i = 0; i < SlowSingletons.TYPES.length; i++) {
+            injector.register(SlowSingletons.TYPES[i]);
+            sharedLazies[i] = new Lazy<>(injector, SlowSingletons.TYPES[i]);
+        }
+    }
+
+    @Benchmark
+    public void resolveFromVirtualThreads() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threads; i++) {
+                int bean = i % SlowSingletons.TYPES.length;
+                if (i % 2 == 0) {
+                    executor.execute(() -> sharedLazies[bean].get());
+                } else {
+                    executor.execute(() -> new Lazy<>(injector, SlowSingletons.TYPES[bean]).get());
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void checkNoPinning() {
+        // Stopping flushes the events still buffered by the recording
+        pinnedEvents.stop();
+        pinnedEvents.close();
+        if (pinned.sum() > 0) {
+            throw new IllegalStateException(pinned.sum() + " virtual threads were pinned while resolving beans");
+        }
+    }
+}
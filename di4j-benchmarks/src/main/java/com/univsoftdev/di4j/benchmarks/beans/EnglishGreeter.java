@@ -0,0 +1,16 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Primary;
+import com.univsoftdev.di4j.annotations.Qualifier;
+
+@Primary
+@Component
+@Qualifier("english")
+public class EnglishGreeter implements Greeter {
+
+    @Override
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+}
@@ -0,0 +1,14 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Qualifier;
+
+@Component
+@Qualifier("french")
+public class FrenchGreeter implements Greeter {
+
+    @Override
+    public String greet(String name) {
+        return "Bonjour " + name;
+    }
+}
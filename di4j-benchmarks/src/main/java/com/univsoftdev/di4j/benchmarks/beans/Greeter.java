@@ -0,0 +1,6 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+public interface Greeter {
+
+    String greet(String name);
+}
@@ -0,0 +1,22 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.ScopeType;
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Inject;
+import com.univsoftdev.di4j.annotations.Scope;
+
+@Component
+@Scope(ScopeType.PROTOTYPE)
+public class PrototypeService {
+
+    private final SingletonService singletonService;
+
+    @Inject
+    public PrototypeService(SingletonService singletonService) {
+        this.singletonService = singletonService;
+    }
+
+    public SingletonService getSingletonService() {
+        return singletonService;
+    }
+}
@@ -0,0 +1,7 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.annotations.Component;
+
+@Component
+public class SingletonService {
+}
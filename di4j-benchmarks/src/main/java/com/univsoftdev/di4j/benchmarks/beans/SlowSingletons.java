@@ -0,0 +1,68 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Lazy;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+
+/**
+ * Lazy singletons whose initialization blocks, like a constructor opening a
+ * connection. The first resolution of each holds the creation lock for
+ * {@link #INIT_MILLIS}.
+ */
+public final class SlowSingletons {
+
+    public static final long INIT_MILLIS = 20;
+
+    public static final Class<?>[] TYPES = {First.class, Second.class, Third.class, Fourth.class};
+
+    private SlowSingletons() {
+    }
+
+    static void initialize() {
+        try {
+            Thread.sleep(INIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Lazy
+    @Component
+    public static class First {
+
+        @PostConstruct
+        void init() {
+            initialize();
+        }
+    }
+
+    @Lazy
+    @Component
+    public static class Second {
+
+        @PostConstruct
+        void init() {
+            initialize();
+        }
+    }
+
+    @Lazy
+    @Component
+    public static class Third {
+
+        @PostConstruct
+        void init() {
+            initialize();
+        }
+    }
+
+    @Lazy
+    @Component
+    public static class Fourth {
+
+        @PostConstruct
+        void init() {
+            initialize();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.ScopeType;
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Inject;
+import com.univsoftdev.di4j.annotations.Scope;
+import java.util.function.Supplier;
+
+@Component
+@Scope(ScopeType.PROTOTYPE)
+public class SupplierClient {
+
+    private final Supplier<PrototypeService> services;
+
+    @Inject
+    public SupplierClient(Supplier<PrototypeService> services) {
+        this.services = services;
+    }
+
+    public Supplier<PrototypeService> getServices() {
+        return services;
+    }
+}
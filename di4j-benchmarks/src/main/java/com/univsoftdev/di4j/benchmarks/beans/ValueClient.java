@@ -0,0 +1,25 @@
+package com.univsoftdev.di4j.benchmarks.beans;
+
+import com.univsoftdev.di4j.ScopeType;
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Scope;
+import com.univsoftdev.di4j.annotations.Value;
+
+@Component
+@Scope(ScopeType.PROTOTYPE)
+public class ValueClient {
+
+    @Value("${benchmark.name}")
+    String name;
+
+    @Value("${benchmark.iterations}")
+    int iterations;
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+}
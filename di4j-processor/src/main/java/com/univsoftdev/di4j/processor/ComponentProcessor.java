@@ -0,0 +1,706 @@
+package com.univsoftdev.di4j.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a {@code com.univsoftdev.di4j.ComponentFactory} for every
+ * concrete class annotated with @Component, @Service, @Repository or
+ * @Controller, and one {@code com.univsoftdev.di4j.ComponentRegistry} listing
+ * them, registered in {@code META-INF/services}. The generated code performs
+ * the same construction, @Inject and @Value injection and @PostConstruct
+ * calls as the runtime injector, without reflection.
+ * <p>
+ * Factories are written next to their component so they can reach
+ * package-private members. A component whose constructor or injected members
+ * are private, static or otherwise unreachable is listed in the registry
+ * without a factory and is instantiated reflectively at runtime.
+ * <p>
+ * The registry is written to the package given by the
+ * {@code di4j.registryPackage} option, or by default to the longest package
+ * shared by all components.
+ * <p>
+ * The processor also writes the component index read by the runtime class
+ * scanner, {@code META-INF/di4j/components.idx}, with one line per component:
+ * {@code className|stereotype|qualifier|scope|lazy|primary}. Since the
+ * scanner trusts the index of a classpath root instead of walking it, an
+ * incremental compilation keeps the components listed by the previous index
+ * that still exist and are still components.
+ */
+@SupportedAnnotationTypes({
+    ComponentProcessor.COMPONENT,
+    ComponentProcessor.SERVICE,
+    ComponentProcessor.REPOSITORY,
+    ComponentProcessor.CONTROLLER
+})
+@SupportedOptions(ComponentProcessor.REGISTRY_PACKAGE_OPTION)
+public class ComponentProcessor extends AbstractProcessor {
+
+    static final String COMPONENT = "com.univsoftdev.di4j.annotations.Component";
+    static final String SERVICE = "com.univsoftdev.di4j.annotations.Service";
+    static final String REPOSITORY = "com.univsoftdev.di4j.annotations.Repository";
+    static final String CONTROLLER = "com.univsoftdev.di4j.annotations.Controller";
+    static final String REGISTRY_PACKAGE_OPTION = "di4j.registryPackage";
+
+    private static final String INJECT = "com.univsoftdev.di4j.annotations.Inject";
+    private static final String VALUE = "com.univsoftdev.di4j.annotations.Value";
+    private static final String QUALIFIER = "com.univsoftdev.di4j.annotations.Qualifier";
+    private static final String SCOPE = "com.univsoftdev.di4j.annotations.Scope";
+    private static final String LAZY_ANNOTATION = "com.univsoftdev.di4j.annotations.Lazy";
+    private static final String PRIMARY = "com.univsoftdev.di4j.annotations.Primary";
+    private static final String POST_CONSTRUCT = "com.univsoftdev.di4j.annotations.PostConstruct";
+    private static final String LAZY = "com.univsoftdev.di4j.Lazy";
+    private static final String FUTURE = "java.util.concurrent.CompletableFuture";
+    private static final String SUPPLIER = "java.util.function.Supplier";
+    private static final String REGISTRY_NAME = "Di4jComponentRegistry";
+    private static final String FACTORY_SUFFIX = "_Di4jFactory";
+    private static final String INDEX_RESOURCE = "META-INF/di4j/components.idx";
+    private static final String GENERATED = "@javax.annotation.processing.Generated(\""
+            + ComponentProcessor.class.getName() + "\")";
+
+    /**
+     * The components found so far, by binary name, mapped to the name of
+     * their generated factory or to null if they have none.
+     */
+    private final Map<String, String> components = new LinkedHashMap<>();
+    private final Map<String, String> componentPackages = new LinkedHashMap<>();
+    private final List<String> indexLines = new ArrayList<>();
+    private boolean registryWritten;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        int found = components.size();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type && isInstantiable(type)) {
+                    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+                    if (!components.containsKey(binaryName)) {
+                        components.put(binaryName, generateFactory(type));
+                        componentPackages.put(binaryName, packageOf(type));
+                        indexLines.add(indexLine(binaryName, annotation.getSimpleName(), type));
+                    }
+                }
+            }
+        }
+
+        // The registry is written in the first round that finds no new
+        // components, so it is itself compiled in a regular round
+        if (components.size() == found && !components.isEmpty() && !registryWritten) {
+            registryWritten = true;
+            writeRegistry();
+            writeIndex();
+        }
+        return false;
+    }
+
+    private static boolean isInstantiable(TypeElement type) {
+        return type.getKind() == ElementKind.CLASS
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && (type.getNestingKind() == NestingKind.TOP_LEVEL
+                || type.getNestingKind() == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC));
+    }
+
+    /**
+     * Writes the factory of a component.
+     *
+     * @param type The component class.
+     * @return The qualified name of the factory, or null if the component
+     * needs reflective injection.
+     */
+    private String generateFactory(TypeElement type) {
+        ComponentModel model = ComponentModel.build(type, processingEnv);
+        if (model == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "di4j: " + type.getQualifiedName() + " uses members the generated factory cannot access;"
+                    + " it will be injected reflectively", type);
+            return null;
+        }
+
+        String packageName = packageOf(type);
+        String factoryName = processingEnv.getElementUtils().getBinaryName(type).toString()
+                .substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('$', '_') + FACTORY_SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter();
+                PrintWriter out = new PrintWriter(writer)) {
+            model.write(out, packageName, factoryName);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "di4j: cannot write factory " + qualifiedName + ": " + e.getMessage(), type);
+            return null;
+        }
+        return qualifiedName;
+    }
+
+    private void writeRegistry() {
+        String packageName = processingEnv.getOptions().get(REGISTRY_PACKAGE_OPTION);
+        if (packageName == null) {
+            packageName = commonPackage(componentPackages.values());
+        }
+        String qualifiedName = packageName.isEmpty() ? REGISTRY_NAME : packageName + "." + REGISTRY_NAME;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName).openWriter();
+                PrintWriter out = new PrintWriter(writer)) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println(GENERATED);
+            out.println("public final class " + REGISTRY_NAME + " implements com.univsoftdev.di4j.ComponentRegistry {");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.List<com.univsoftdev.di4j.ComponentFactory<?>> getFactories() {");
+            out.println("        return java.util.List.of(" + components.values().stream()
+                    .filter(factory -> factory != null)
+                    .map(factory -> "\n                new " + factory + "()")
+                    .collect(Collectors.joining(",")) + ");");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public java.util.List<Class<?>> getReflectiveComponents() {");
+            out.println("        return java.util.List.of(" + components.entrySet().stream()
+                    .filter(entry -> entry.getValue() == null)
+                    .map(entry -> "\n                load(\"" + entry.getKey() + "\")")
+                    .collect(Collectors.joining(",")) + ");");
+            out.println("    }");
+            out.println();
+            out.println("    private static Class<?> load(String name) {");
+            out.println("        try {");
+            out.println("            return Class.forName(name, false, " + REGISTRY_NAME + ".class.getClassLoader());");
+            out.println("        } catch (ClassNotFoundException e) {");
+            out.println("            throw new IllegalStateException(\"Generated component not found: \" + name, e);");
+            out.println("        }");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "di4j: cannot write registry " + qualifiedName + ": " + e.getMessage());
+            return;
+        }
+
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/com.univsoftdev.di4j.ComponentRegistry").openWriter()) {
+            writer.write(qualifiedName + "\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "di4j: cannot write service entry for " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private String indexLine(String binaryName, CharSequence stereotype, TypeElement type) {
+        return String.join("|", binaryName, stereotype, qualifierOf(type), scopeOf(type),
+                String.valueOf(annotation(type, LAZY_ANNOTATION) != null),
+                String.valueOf(annotation(type, PRIMARY) != null));
+    }
+
+    private void writeIndex() {
+        List<String> previous = previousIndexLines();
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE).openWriter()) {
+            writer.write("# className|stereotype|qualifier|scope|lazy|primary\n");
+            for (String line : indexLines) {
+                writer.write(line + "\n");
+            }
+            for (String line : previous) {
+                writer.write(line + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "di4j: cannot write component index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the lines of the index left in the class output by an earlier
+     * compilation for the components this compilation did not see, described
+     * again from their current class files. Classes that were deleted or are
+     * no longer components are dropped.
+     */
+    private List<String> previousIndexLines() {
+        List<String> lines = new ArrayList<>();
+        CharSequence content;
+        try {
+            content = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE)
+                    .getCharContent(true);
+        } catch (IOException | IllegalArgumentException e) {
+            // No earlier index
+            return lines;
+        }
+        for (String line : content.toString().split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String binaryName = line.substring(0, line.indexOf('|') < 0 ? line.length() : line.indexOf('|'));
+            if (components.containsKey(binaryName)) {
+                continue;
+            }
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+            if (type == null || !isInstantiable(type)) {
+                continue;
+            }
+            for (String stereotype : List.of(COMPONENT, SERVICE, REPOSITORY, CONTROLLER)) {
+                if (annotation(type, stereotype) != null) {
+                    lines.add(indexLine(binaryName, stereotype.substring(stereotype.lastIndexOf('.') + 1), type));
+                    break;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        return packageElement.getQualifiedName().toString();
+    }
+
+    private static String commonPackage(Iterable<String> packages) {
+        String common = null;
+        for (String packageName : packages) {
+            if (common == null) {
+                common = packageName;
+                continue;
+            }
+            while (!common.isEmpty() && !packageName.equals(common) && !packageName.startsWith(common + ".")) {
+                int dot = common.lastIndexOf('.');
+                common = dot < 0 ? "" : common.substring(0, dot);
+            }
+        }
+        return common == null ? "" : common;
+    }
+
+    /**
+     * Returns the annotation of the given type on an element, or null.
+     */
+    static AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotation.getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the explicit {@code value} of an annotation, or null if it uses
+     * the default.
+     */
+    static Object annotationValue(AnnotationMirror mirror) {
+        return annotationValue(mirror, "value");
+    }
+
+    static Object annotationValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the qualifier a component is registered under: its @Qualifier
+     * value, or the lowercase simple name of the class.
+     */
+    static String qualifierOf(TypeElement type) {
+        AnnotationMirror qualifier = annotation(type, QUALIFIER);
+        Object value = qualifier != null ? annotationValue(qualifier) : null;
+        return value != null ? value.toString() : type.getSimpleName().toString().toLowerCase();
+    }
+
+    static boolean isSingleton(TypeElement type) {
+        AnnotationMirror scope = annotation(type, SCOPE);
+        if (scope == null) {
+            return true;
+        }
+        Object name = annotationValue(scope, "name");
+        if (name != null && !name.toString().isEmpty()) {
+            return false;
+        }
+        Object value = annotationValue(scope);
+        return value == null || ((VariableElement) value).getSimpleName().contentEquals("SINGLETON");
+    }
+
+    /**
+     * Returns the scope name recorded in the component index: the @Scope
+     * name if set, otherwise the name of its ScopeType, SINGLETON by default.
+     */
+    static String scopeOf(TypeElement type) {
+        AnnotationMirror scope = annotation(type, SCOPE);
+        if (scope == null) {
+            return "SINGLETON";
+        }
+        Object name = annotationValue(scope, "name");
+        if (name != null && !name.toString().isEmpty()) {
+            return name.toString();
+        }
+        Object value = annotationValue(scope);
+        return value == null ? "SINGLETON" : ((VariableElement) value).getSimpleName().toString();
+    }
+
+    static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * The injection metadata of one component, read from the source model
+     * with the same rules as the runtime injection plan.
+     */
+    private static final class ComponentModel {
+
+        private final TypeElement type;
+        private final ProcessingEnvironment env;
+        private final List<String> constructorArguments = new ArrayList<>();
+        private final List<String> memberStatements = new ArrayList<>();
+        private final List<String> postConstructStatements = new ArrayList<>();
+
+        private ComponentModel(TypeElement type, ProcessingEnvironment env) {
+            this.type = type;
+            this.env = env;
+        }
+
+        /**
+         * Reads the model of a component.
+         *
+         * @return The model, or null if the generated factory could not
+         * access a member the injector needs.
+         */
+        static ComponentModel build(TypeElement type, ProcessingEnvironment env) {
+            ComponentModel model = new ComponentModel(type, env);
+            return model.read() ? model : null;
+        }
+
+        private boolean read() {
+            if (!isReachable(type)) {
+                return false;
+            }
+
+            ExecutableElement constructor = selectConstructor();
+            if (constructor == null || !isAccessible(constructor)) {
+                return false;
+            }
+            for (VariableElement parameter : constructor.getParameters()) {
+                String argument = valueOf(parameter);
+                if (argument == null) {
+                    return false;
+                }
+                constructorArguments.add(argument);
+            }
+
+            List<TypeElement> hierarchy = hierarchy();
+            for (TypeElement declaringClass : hierarchy) {
+                for (VariableElement field : ElementFilter.fieldsIn(declaringClass.getEnclosedElements())) {
+                    if (annotation(field, INJECT) == null && annotation(field, VALUE) == null) {
+                        continue;
+                    }
+                    String value = valueOf(field);
+                    if (value == null || !isAccessible(field) || field.getModifiers().contains(Modifier.FINAL)) {
+                        return false;
+                    }
+                    memberStatements.add(receiver(declaringClass) + "." + field.getSimpleName() + " = " + value + ";");
+                }
+            }
+
+            List<String> methodCalls = new ArrayList<>();
+            for (int i = 0; i < hierarchy.size(); i++) {
+                TypeElement declaringClass = hierarchy.get(i);
+                for (ExecutableElement method : ElementFilter.methodsIn(declaringClass.getEnclosedElements())) {
+                    if (isOverridden(method, hierarchy.subList(i + 1, hierarchy.size()))) {
+                        continue;
+                    }
+                    boolean injected = annotation(method, INJECT) != null || annotation(method, VALUE) != null;
+                    AnnotationMirror callback = annotation(method, POST_CONSTRUCT);
+                    boolean postConstruct = callback != null;
+                    if (!injected && !postConstruct) {
+                        continue;
+                    }
+                    if (!isAccessible(method)) {
+                        return false;
+                    }
+                    if (injected) {
+                        List<String> arguments = new ArrayList<>();
+                        for (VariableElement parameter : method.getParameters()) {
+                            // Left to the runtime injector, which rejects the parameter
+                            if (annotation(parameter, INJECT) == null && annotation(parameter, VALUE) == null) {
+                                return false;
+                            }
+                            String argument = valueOf(parameter);
+                            if (argument == null) {
+                                return false;
+                            }
+                            arguments.add(argument);
+                        }
+                        methodCalls.add(receiver(declaringClass) + "." + method.getSimpleName()
+                                + "(" + String.join(", ", arguments) + ");");
+                    }
+                    if (postConstruct) {
+                        if (!method.getParameters().isEmpty()) {
+                            return false;
+                        }
+                        // Asynchronous callbacks are started by the runtime injector
+                        if (!Boolean.TRUE.equals(annotationValue(callback, "async"))) {
+                            postConstructStatements.add(receiver(declaringClass) + "." + method.getSimpleName()
+                                    + "();");
+                        }
+                    }
+                }
+            }
+            // Fields are injected before methods, as in the runtime plan
+            memberStatements.addAll(methodCalls);
+            return true;
+        }
+
+        void write(PrintWriter out, String packageName, String factoryName) {
+            String typeName = typeName();
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println(GENERATED);
+            out.println("public final class " + factoryName
+                    + " implements com.univsoftdev.di4j.ComponentFactory<" + typeName + "> {");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + typeName + "> getType() {");
+            out.println("        return " + typeName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public String getQualifier() {");
+            out.println("        return " + literal(qualifierOf(type)) + ";");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean isSingleton() {");
+            out.println("        return " + isSingleton(type) + ";");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean isLazy() {");
+            out.println("        return " + (annotation(type, LAZY_ANNOTATION) != null) + ";");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public boolean isPrimary() {");
+            out.println("        return " + (annotation(type, PRIMARY) != null) + ";");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("    public " + typeName + " create(com.univsoftdev.di4j.Injector injector) {");
+            out.println("        " + typeName + " bean = new " + typeName + "(" + constructorArguments.stream()
+                    .map(argument -> "\n                " + argument)
+                    .collect(Collectors.joining(",")) + ");");
+            for (String statement : memberStatements) {
+                out.println("        " + statement);
+            }
+            out.println("        return bean;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void postConstruct(" + typeName + " bean) {");
+            for (String statement : postConstructStatements) {
+                out.println("        " + statement);
+            }
+            out.println("    }");
+            out.println("}");
+        }
+
+        private String typeName() {
+            return type.getQualifiedName().toString();
+        }
+
+        /**
+         * Returns the constructor annotated with @Inject, or else the one with
+         * the most parameters.
+         */
+        private ExecutableElement selectConstructor() {
+            ExecutableElement selected = null;
+            for (ExecutableElement candidate : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (annotation(candidate, INJECT) != null) {
+                    return candidate;
+                }
+                if (selected == null || candidate.getParameters().size() > selected.getParameters().size()) {
+                    selected = candidate;
+                }
+            }
+            return selected;
+        }
+
+        /**
+         * Returns the component and its superclasses, excluding Object, from
+         * the top of the hierarchy down.
+         */
+        private List<TypeElement> hierarchy() {
+            List<TypeElement> hierarchy = new ArrayList<>();
+            TypeElement current = type;
+            while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+                hierarchy.add(0, current);
+                TypeMirror superclass = current.getSuperclass();
+                current = superclass.getKind() == TypeKind.DECLARED
+                        ? (TypeElement) ((DeclaredType) superclass).asElement()
+                        : null;
+            }
+            return hierarchy;
+        }
+
+        private boolean isOverridden(ExecutableElement method, List<TypeElement> subclasses) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            for (TypeElement subclass : subclasses) {
+                for (ExecutableElement candidate : ElementFilter.methodsIn(subclass.getEnclosedElements())) {
+                    if (env.getElementUtils().overrides(candidate, method, subclass)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the expression producing the value of a constructor
+         * parameter, field or method parameter, or null if the injection
+         * point has a form only the runtime injector supports.
+         */
+        private String valueOf(VariableElement element) {
+            TypeMirror declared = element.asType();
+            AnnotationMirror value = annotation(element, VALUE);
+            if (value != null) {
+                String key = annotationValue(value).toString().replace("${", "").replace("}", "");
+                return "injector.getProperty(" + literal(key) + ", " + classLiteral(declared) + ")";
+            }
+
+            AnnotationMirror qualifierAnnotation = annotation(element, QUALIFIER);
+            String qualifier = qualifierAnnotation != null ? literal(annotationValue(qualifierAnnotation).toString()) : null;
+            String rawType = env.getTypeUtils().erasure(declared).toString();
+            if (annotation(element, LAZY_ANNOTATION) != null && !rawType.equals(LAZY) && !rawType.equals(SUPPLIER)
+                    && !rawType.equals(FUTURE)) {
+                // Lazy proxies are generated by the runtime injector
+                return null;
+            }
+            if (rawType.equals(LAZY) || rawType.equals(FUTURE)
+                    || rawType.equals(SUPPLIER) && !typeArguments(declared).isEmpty()) {
+                List<? extends TypeMirror> arguments = typeArguments(declared);
+                if (arguments.size() != 1 || arguments.get(0).getKind() != TypeKind.DECLARED
+                        || !isReachable((TypeElement) ((DeclaredType) arguments.get(0)).asElement())) {
+                    return null;
+                }
+                String target = classLiteral(arguments.get(0));
+                if (rawType.equals(LAZY)) {
+                    return "new com.univsoftdev.di4j.Lazy<>(injector, " + target
+                            + (qualifier != null ? ", " + qualifier : "") + ")";
+                }
+                if (rawType.equals(FUTURE)) {
+                    return "injector.resolveAsync(" + target + (qualifier != null ? ", " + qualifier : "") + ")";
+                }
+                return "() -> " + resolveCall(target, qualifier);
+            }
+            if (declared.getKind() == TypeKind.DECLARED
+                    && !isReachable((TypeElement) ((DeclaredType) declared).asElement())) {
+                return null;
+            }
+            return resolveCall(classLiteral(declared), qualifier);
+        }
+
+        private static String resolveCall(String classLiteral, String qualifier) {
+            return qualifier != null
+                    ? "injector.resolveQualified(" + classLiteral + ", " + qualifier + ")"
+                    : "injector.resolve(" + classLiteral + ")";
+        }
+
+        private static List<? extends TypeMirror> typeArguments(TypeMirror type) {
+            return type instanceof DeclaredType declaredType ? declaredType.getTypeArguments() : List.of();
+        }
+
+        private String classLiteral(TypeMirror type) {
+            return env.getTypeUtils().erasure(type).toString() + ".class";
+        }
+
+        private String receiver(TypeElement declaringClass) {
+            return declaringClass.equals(type) ? "bean" : "((" + declaringClass.getQualifiedName() + ") bean)";
+        }
+
+        /**
+         * Returns whether a class can be named from the component's package.
+         */
+        private boolean isReachable(TypeElement element) {
+            for (Element current = element; current instanceof TypeElement; current = current.getEnclosingElement()) {
+                Set<Modifier> modifiers = current.getModifiers();
+                if (modifiers.contains(Modifier.PRIVATE)
+                        || !modifiers.contains(Modifier.PUBLIC) && !samePackage(current)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns whether the factory, living in the component's package, can
+         * access an instance member.
+         */
+        private boolean isAccessible(Element member) {
+            Set<Modifier> modifiers = member.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+                return false;
+            }
+            TypeElement declaringClass = (TypeElement) member.getEnclosingElement();
+            if (samePackage(declaringClass)) {
+                return true;
+            }
+            return modifiers.contains(Modifier.PUBLIC) && isReachable(declaringClass);
+        }
+
+        private boolean samePackage(Element element) {
+            return env.getElementUtils().getPackageOf(element).equals(env.getElementUtils().getPackageOf(type));
+        }
+    }
+}
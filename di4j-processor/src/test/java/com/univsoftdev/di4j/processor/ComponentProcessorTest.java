@@ -0,0 +1,241 @@
+package com.univsoftdev.di4j.processor;
+
+import com.univsoftdev.di4j.ClassScanner;
+import com.univsoftdev.di4j.Configuration;
+import com.univsoftdev.di4j.Injector;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ComponentProcessorTest {
+
+    private static final Map<String, String> SOURCES = Map.of(
+            "sample/Repository.java", """
+            package sample;
+
+            import com.univsoftdev.di4j.annotations.Component;
+            import com.univsoftdev.di4j.annotations.Lazy;
+
+            @Lazy
+            @Component
+            public class Repository {
+            }
+            """,
+            "sample/BaseService.java", """
+            package sample;
+
+            import com.univsoftdev.di4j.annotations.PostConstruct;
+            import com.univsoftdev.di4j.annotations.Value;
+
+            abstract class BaseService {
+
+                @Value("${app.name}")
+                String appName;
+
+                boolean initialized;
+
+                @PostConstruct
+                void init() {
+                    initialized = true;
+                }
+            }
+            """,
+            "sample/GreetingService.java", """
+            package sample;
+
+            import com.univsoftdev.di4j.Lazy;
+            import com.univsoftdev.di4j.annotations.Component;
+            import com.univsoftdev.di4j.annotations.Inject;
+            import com.univsoftdev.di4j.annotations.Qualifier;
+            import java.util.function.Supplier;
+
+            @com.univsoftdev.di4j.annotations.Lazy
+            @Component
+            @Qualifier("greeting")
+            public class GreetingService extends BaseService {
+
+                final Repository repository;
+
+                @Inject
+                Lazy<Repository> lazyRepository;
+
+                @Inject
+                Supplier<Repository> repositorySupplier;
+
+                @Inject
+                GreetingService(Repository repository) {
+                    this.repository = repository;
+                }
+            }
+            """,
+            "sample/Unrelated.java", """
+            package sample;
+
+            class Unrelated {
+
+                static {
+                    if (true) {
+                        throw new IllegalStateException("Unrelated must not be loaded");
+                    }
+                }
+            }
+            """,
+            "sample/PrivateService.java", """
+            package sample;
+
+            import com.univsoftdev.di4j.annotations.Component;
+            import com.univsoftdev.di4j.annotations.Inject;
+            import com.univsoftdev.di4j.ScopeType;
+            import com.univsoftdev.di4j.annotations.Lazy;
+            import com.univsoftdev.di4j.annotations.Scope;
+
+            @Lazy
+            @Component
+            @Scope(ScopeType.THREAD)
+            public class PrivateService {
+
+                @Inject
+                private Repository repository;
+
+                public Repository getRepository() {
+                    return repository;
+                }
+            }
+            """);
+
+    @Test
+    public void testGeneratedFactoriesAreUsedByTheInjector() throws Exception {
+        Path root = Files.createTempDirectory("di4j-processor");
+        Path classes = compile(root);
+
+        assertTrue(Files.exists(root.resolve("generated/sample/GreetingService_Di4jFactory.java")));
+        assertTrue(Files.exists(root.resolve("generated/sample/Di4jComponentRegistry.java")));
+        assertFalse(Files.exists(root.resolve("generated/sample/PrivateService_Di4jFactory.java")));
+        assertEquals("sample.Di4jComponentRegistry", Files.readString(
+                classes.resolve("META-INF/services/com.univsoftdev.di4j.ComponentRegistry")).trim());
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, previous)) {
+            thread.setContextClassLoader(loader);
+            // Scanning would initialize Unrelated, which fails
+            Injector injector = new Injector(new Configuration().setBasePackages("sample"));
+            Properties properties = new Properties();
+            properties.setProperty("app.name", "generated");
+            injector.loadProperties(() -> properties);
+
+            Class<?> serviceType = loader.loadClass("sample.GreetingService");
+            Class<?> repositoryType = loader.loadClass("sample.Repository");
+            Object service = injector.resolveQualified(serviceType, "greeting");
+            Object repository = injector.resolve(repositoryType);
+
+            assertSame(repository, field(service, "repository"));
+            assertSame(repository, ((com.univsoftdev.di4j.Lazy<?>) field(service, "lazyRepository")).get());
+            assertSame(repository, ((java.util.function.Supplier<?>) field(service, "repositorySupplier")).get());
+            assertEquals("generated", field(service, "appName"));
+            assertEquals(Boolean.TRUE, field(service, "initialized"));
+
+            Object reflective = injector.resolve(loader.loadClass("sample.PrivateService"));
+            assertNotNull(reflective.getClass().getMethod("getRepository").invoke(reflective));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    public void testComponentIndexReplacesTheClasspathWalk() throws Exception {
+        Path classes = compile(Files.createTempDirectory("di4j-processor"));
+
+        List<String> index = Files.readAllLines(classes.resolve("META-INF/di4j/components.idx"));
+        assertTrue(index.contains("sample.GreetingService|Component|greeting|SINGLETON|true|false"), index.toString());
+        assertTrue(index.contains("sample.PrivateService|Component|privateservice|THREAD|true|false"), index.toString());
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, previous)) {
+            thread.setContextClassLoader(loader);
+            // Walking the package would initialize Unrelated, which fails
+            Set<String> names = ClassScanner.scanForComponents("sample").stream()
+                    .map(Class::getName)
+                    .collect(Collectors.toSet());
+            assertEquals(Set.of("sample.Repository", "sample.GreetingService", "sample.PrivateService"), names);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static Path compile(Path root) throws IOException {
+        return compile(root, SOURCES.keySet());
+    }
+
+    /**
+     * Compiles some of the sample sources into the classes directory of a
+     * root, which is also on the classpath, as an incremental build does.
+     */
+    private static Path compile(Path root, Set<String> names) throws IOException {
+        Path sources = root.resolve("src");
+        Path generated = Files.createDirectories(root.resolve("generated"));
+        Path classes = Files.createDirectories(root.resolve("classes"));
+        for (Map.Entry<String, String> source : SOURCES.entrySet()) {
+            Path file = sources.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = List.of(
+                    "-classpath", classes + File.pathSeparator + System.getProperty("java.class.path"),
+                    "-d", classes.toString(),
+                    "-s", generated.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(names.stream().map(sources::resolve).toList()));
+            task.setProcessors(List.of(new ComponentProcessor()));
+            assertTrue(task.call(), "Compilation failed");
+        }
+        return classes;
+    }
+
+    @Test
+    public void testIncrementalCompilationKeepsIndexedComponents() throws Exception {
+        Path root = Files.createTempDirectory("di4j-processor");
+        compile(root);
+        Path classes = compile(root, Set.of("sample/GreetingService.java"));
+
+        List<String> index = Files.readAllLines(classes.resolve("META-INF/di4j/components.idx"));
+        assertTrue(index.contains("sample.GreetingService|Component|greeting|SINGLETON|true|false"), index.toString());
+        assertTrue(index.contains("sample.Repository|Component|repository|SINGLETON|true|false"), index.toString());
+        assertTrue(index.contains("sample.PrivateService|Component|privateservice|THREAD|true|false"), index.toString());
+        assertEquals(4, index.size(), index.toString());
+    }
+
+    private static Object field(Object instance, String name) throws ReflectiveOperationException {
+        java.lang.reflect.Field field = null;
+        for (Class<?> type = instance.getClass(); field == null; type = type.getSuperclass()) {
+            for (java.lang.reflect.Field candidate : type.getDeclaredFields()) {
+                if (candidate.getName().equals(name)) {
+                    field = candidate;
+                }
+            }
+        }
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+}
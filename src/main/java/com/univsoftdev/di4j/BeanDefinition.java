@@ -1,19 +1,29 @@
 package com.univsoftdev.di4j;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 public class BeanDefinition {
 
     private final Class<?> type;
     private final String qualifier;
+    private final BeanKey key;
     private final boolean singleton;
     private final boolean primary;
     private boolean lazy;
     private Supplier<?> supplier;
+    private volatile BeanFactory factory;
+    private volatile int checkedGeneration = -1;
+    private int id = -1;
+    private String scope;
+    private int scopeSlot = -1;
+    private volatile ScopedBinding scopedBinding;
+    private final AtomicReference<Thread> creator = new AtomicReference<>();
 
     public BeanDefinition(Class<?> type, String qualifier, boolean isSingleton, boolean primary) {
         this.type = type;
         this.qualifier = qualifier;
+        this.key = new BeanKey(type, qualifier);
         this.singleton = isSingleton;
         this.primary = primary;
     }
@@ -21,6 +31,7 @@ public class BeanDefinition {
     public BeanDefinition(Class<?> type, String qualifier, boolean singleton, Supplier<?> instanceSupplier) {
         this.type = type;
         this.qualifier = qualifier;
+        this.key = new BeanKey(type, qualifier);
         this.singleton = singleton;
         this.supplier = instanceSupplier;
         this.primary = false;
@@ -34,6 +45,86 @@ public class BeanDefinition {
         this.supplier = supplier;
     }
 
+    BeanFactory getFactory() {
+        return factory;
+    }
+
+    void setFactory(BeanFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the dense id assigned when the injector was frozen, or -1.
+     */
+    int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the name of the scope of this bean if it is neither a
+     * singleton nor a prototype, or null.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    /**
+     * Returns the slot of this bean among the beans of its scope, or -1.
+     */
+    int getScopeSlot() {
+        return scopeSlot;
+    }
+
+    void setScope(String scope, int scopeSlot) {
+        this.scope = scope;
+        this.scopeSlot = scopeSlot;
+    }
+
+    /**
+     * Returns the binding to the scope instance, or null before the first
+     * resolution.
+     */
+    ScopedBinding getScopedBinding() {
+        return scopedBinding;
+    }
+
+    void setScopedBinding(ScopedBinding scopedBinding) {
+        this.scopedBinding = scopedBinding;
+    }
+
+    /**
+     * Returns the registry generation in which this definition was last
+     * verified to take part in no dependency cycle, or -1 if never.
+     */
+    int getCheckedGeneration() {
+        return checkedGeneration;
+    }
+
+    void setCheckedGeneration(int checkedGeneration) {
+        this.checkedGeneration = checkedGeneration;
+    }
+
+    /**
+     * Marks the calling thread as creating this bean through its supplier.
+     *
+     * @return True if the mark was set, false if another thread holds it.
+     */
+    boolean markCreating(Thread thread) {
+        return creator.compareAndSet(null, thread);
+    }
+
+    boolean isCreating(Thread thread) {
+        return creator.get() == thread;
+    }
+
+    void clearCreating() {
+        creator.set(null);
+    }
+
     public boolean isLazy() {
         return lazy;
     }
@@ -54,6 +145,10 @@ public class BeanDefinition {
         return qualifier;
     }
 
+    public BeanKey getKey() {
+        return key;
+    }
+
     public boolean isSingleton() {
         return singleton;
     }
@@ -0,0 +1,44 @@
+package com.univsoftdev.di4j;
+
+import com.univsoftdev.di4j.exceptions.BeanCreationException;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Creates fully injected instances of a single bean class. Factories are
+ * built once per {@link BeanDefinition} and reused for every instance the
+ * definition produces.
+ */
+interface BeanFactory {
+
+    /**
+     * Returns the class this factory instantiates.
+     *
+     * @return The bean class.
+     */
+    Class<?> getType();
+
+    /**
+     * Constructs a new instance and injects its fields and methods.
+     *
+     * @return The injected, not yet initialized instance.
+     * @throws BeanCreationException If the instance cannot be injected.
+     */
+    Object create() throws BeanCreationException;
+
+    /**
+     * Invokes the @PostConstruct methods of an instance created by this
+     * factory.
+     *
+     * @param bean The bean instance.
+     */
+    void postConstruct(Object bean);
+
+    /**
+     * Returns the @PostConstruct(async = true) methods of the instances this
+     * factory creates, bound once into handles taking the bean, superclass
+     * methods first.
+     *
+     * @return The handles, empty if the class has no asynchronous callbacks.
+     */
+    MethodHandle[] getAsyncPostConstructMethods();
+}
@@ -0,0 +1,136 @@
+package com.univsoftdev.di4j;
+
+/**
+ * A pre-resolved accessor for a bean, intended for hot paths that would
+ * otherwise call {@link Injector#resolve(Class)} repeatedly. The lookup of
+ * the bean definition happens once; {@link #get()} then either returns the
+ * published singleton held in a final field or creates a bean from the
+ * bound definition. A creation still goes through the injector, so scopes,
+ * lifecycle callbacks, metrics and events apply as they do for
+ * {@link Injector#resolve(Class)}; only the lookup is skipped.
+ * <p>
+ * A handle stays correct when the registry changes: it remembers the
+ * injector generation it was bound in and rebinds when a definition is added
+ * or the singletons are destroyed. Freezing rules out new definitions, so on
+ * a frozen injector only {@link Injector#destroy()} forces a rebind.
+ *
+ * @param <T> The type of the bean.
+ */
+public final class BeanHandle<T> {
+
+    private final Injector injector;
+    private final Class<T> type;
+    private final String qualifier;
+    private volatile Binding<T> binding;
+
+    BeanHandle(Injector injector, Class<T> type, String qualifier) {
+        this.injector = injector;
+        this.type = type;
+        this.qualifier = qualifier;
+        this.binding = bind();
+    }
+
+    /**
+     * Returns the bean: the same instance every time for a singleton, a new
+     * instance for a prototype.
+     *
+     * @return The bean instance.
+     */
+    public T get() {
+        Binding<T> current = binding;
+        if (current.generation != injector.generation()) {
+            current = bind();
+            binding = current;
+        }
+        return current.get();
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the qualifier the handle was created with, or null.
+     */
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    private Binding<T> bind() {
+        int generation = injector.generation();
+        BeanDefinition definition = qualifier != null
+                ? injector.findQualifiedDefinition(type, qualifier)
+                : injector.findDefinition(type);
+        return definition.isSingleton()
+                ? new SingletonBinding(generation, definition)
+                : new PrototypeBinding(generation, definition);
+    }
+
+    private abstract static class Binding<T> {
+
+        final int generation;
+
+        Binding(int generation) {
+            this.generation = generation;
+        }
+
+        abstract T get();
+    }
+
+    /**
+     * Resolves a singleton on first use, then swaps itself for a constant
+     * binding holding the published instance.
+     */
+    private final class SingletonBinding extends Binding<T> {
+
+        private final BeanDefinition definition;
+
+        SingletonBinding(int generation, BeanDefinition definition) {
+            super(generation);
+            this.definition = definition;
+        }
+
+        @Override
+        T get() {
+            T instance = injector.resolveDefinition(definition.getKey(), definition);
+            if (injector.generation() == generation) {
+                binding = new ConstantBinding<>(generation, instance);
+            }
+            return instance;
+        }
+    }
+
+    private static final class ConstantBinding<T> extends Binding<T> {
+
+        private final T instance;
+
+        ConstantBinding(int generation, T instance) {
+            super(generation);
+            this.instance = instance;
+        }
+
+        @Override
+        T get() {
+            return instance;
+        }
+    }
+
+    /**
+     * Creates a bean of a non-singleton definition on every call, through
+     * the same path as a resolution of that definition.
+     */
+    private final class PrototypeBinding extends Binding<T> {
+
+        private final BeanDefinition definition;
+
+        PrototypeBinding(int generation, BeanDefinition definition) {
+            super(generation);
+            this.definition = definition;
+        }
+
+        @Override
+        T get() {
+            return injector.resolveDefinition(definition.getKey(), definition);
+        }
+    }
+}
@@ -6,10 +6,12 @@ public class BeanKey {
 
     private final Class<?> type;
     private final String qualifier;
+    private final int hash;
 
     public BeanKey(Class<?> type, String qualifier) {
         this.type = type;
         this.qualifier = qualifier;
+        this.hash = 31 * Objects.hashCode(type) + Objects.hashCode(qualifier);
     }
 
     @Override
@@ -21,13 +23,14 @@ public class BeanKey {
             return false;
         }
         BeanKey beanKey = (BeanKey) o;
-        return Objects.equals(type, beanKey.type)
+        return hash == beanKey.hash
+                && Objects.equals(type, beanKey.type)
                 && Objects.equals(qualifier, beanKey.qualifier);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, qualifier);
+        return hash;
     }
 
     @Override
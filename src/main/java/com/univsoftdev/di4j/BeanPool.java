@@ -0,0 +1,148 @@
+package com.univsoftdev.di4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The idle instances of one pooled bean. Instances are kept in a fixed
+ * array of slots: taking one clears a slot with a compare-and-set and
+ * returning one fills an empty slot the same way, so the pool takes no
+ * lock. Each scan starts at a random slot, which spreads threads over the
+ * array instead of having them all compete for the first slot.
+ * <p>
+ * The counters are {@link LongAdder}s for the same reason. The cost of a
+ * creation is measured on every miss, so the pool can estimate what its
+ * hits saved.
+ */
+final class BeanPool {
+
+    private final BeanScope.ScopedBean bean;
+    private final AtomicReferenceArray<Object> idle;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder returns = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+    private final LongAdder creationNanos = new LongAdder();
+    private final LongAdder creationBytes = new LongAdder();
+    private volatile boolean closed;
+
+    BeanPool(BeanScope.ScopedBean bean, int capacity) {
+        this.bean = bean;
+        this.idle = new AtomicReferenceArray<>(capacity);
+    }
+
+    BeanScope.ScopedBean getBean() {
+        return bean;
+    }
+
+    /**
+     * Takes an idle instance, or creates one if the pool is empty.
+     */
+    Object take() {
+        int capacity = idle.length();
+        int index = capacity > 1 ? ThreadLocalRandom.current().nextInt(capacity) : 0;
+        for (int i = 0; i < capacity; i++) {
+            Object instance = idle.get(index);
+            if (instance != null && idle.compareAndSet(index, instance, null)) {
+                hits.increment();
+                return instance;
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+        }
+        misses.increment();
+        long startBytes = StartupRecorder.allocatedBytes();
+        long start = System.nanoTime();
+        Object instance = bean.create();
+        creationNanos.add(System.nanoTime() - start);
+        if (startBytes >= 0) {
+            creationBytes.add(StartupRecorder.allocatedBytes() - startBytes);
+        }
+        return instance;
+    }
+
+    /**
+     * Resets an instance with its @PoolReset methods and keeps it for reuse.
+     * It is destroyed instead if the pool is full or closed.
+     *
+     * @throws RuntimeException If a reset method fails; the instance is
+     * destroyed.
+     */
+    void release(Object instance) {
+        try {
+            for (Method method : InjectionPlan.of(instance.getClass()).getPoolResetMethods()) {
+                method.invoke(instance);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            discard(instance);
+            throw new RuntimeException("Error invoking @PoolReset method", e);
+        }
+        if (!closed) {
+            int capacity = idle.length();
+            int index = capacity > 1 ? ThreadLocalRandom.current().nextInt(capacity) : 0;
+            for (int i = 0; i < capacity; i++) {
+                if (idle.get(index) == null && idle.compareAndSet(index, null, instance)) {
+                    returns.increment();
+                    // A close running concurrently may have drained the pool already
+                    if (closed && idle.compareAndSet(index, instance, null)) {
+                        discard(instance);
+                    }
+                    return;
+                }
+                if (++index == capacity) {
+                    index = 0;
+                }
+            }
+        }
+        discard(instance);
+    }
+
+    private void discard(Object instance) {
+        discards.increment();
+        bean.destroy(instance);
+    }
+
+    /**
+     * Closes the pool and destroys its idle instances. Instances returned
+     * afterwards are destroyed. Every instance is destroyed even if some
+     * fail; the first failure is rethrown with the others suppressed.
+     */
+    void close() {
+        closed = true;
+        RuntimeException failure = null;
+        for (int i = 0; i < idle.length(); i++) {
+            Object instance = idle.getAndSet(i, null);
+            if (instance != null) {
+                try {
+                    bean.destroy(instance);
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    PoolStats stats() {
+        int idleCount = 0;
+        for (int i = 0; i < idle.length(); i++) {
+            if (idle.get(i) != null) {
+                idleCount++;
+            }
+        }
+        long created = misses.sum();
+        long bytes = StartupRecorder.allocatedBytes() < 0 ? -1 : creationBytes.sum();
+        return new PoolStats(idle.length(), idleCount, hits.sum(), created, returns.sum(), discards.sum(),
+                creationNanos.sum(), bytes);
+    }
+}
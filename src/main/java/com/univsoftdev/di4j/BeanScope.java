@@ -0,0 +1,60 @@
+package com.univsoftdev.di4j;
+
+/**
+ * A scope deciding which instance of a bean an injection point receives.
+ * Singleton and prototype beans are handled by the injector itself; every
+ * other scope, including the built-in {@link ThreadScope} and
+ * {@link RequestScope}, implements this interface and is looked up by name
+ * when a bean of that scope is first resolved.
+ * <p>
+ * Each bean of a scope has a dense slot number, so a scope can keep the
+ * instances of one context in an array indexed by slot instead of a map or
+ * one ThreadLocal per bean. Slots are numbered per injector, so a scope
+ * instance must only be registered with one injector.
+ *
+ * @see Injector#registerScope(String, BeanScope)
+ */
+public interface BeanScope {
+
+    /**
+     * Returns the instance of a bean in the current context of this scope,
+     * creating it with {@link ScopedBean#create()} if the context has none.
+     *
+     * @param bean The bean to return.
+     * @return The instance.
+     * @throws IllegalStateException If the scope has no current context.
+     */
+    Object get(ScopedBean bean);
+
+    /**
+     * Ends every context of this scope, destroying their instances. Called
+     * by {@link Injector#destroy()}.
+     */
+    default void destroy() {
+    }
+
+    /**
+     * A bean of a scope, as seen by the scope.
+     */
+    interface ScopedBean {
+
+        BeanDefinition getDefinition();
+
+        /**
+         * Returns the slot number of the bean, from 0 to the number of beans
+         * registered in the scope minus one.
+         */
+        int getSlot();
+
+        /**
+         * Creates and initializes a new instance of the bean.
+         */
+        Object create();
+
+        /**
+         * Invokes the @PreDestroy methods of an instance created by
+         * {@link #create()}.
+         */
+        void destroy(Object instance);
+    }
+}
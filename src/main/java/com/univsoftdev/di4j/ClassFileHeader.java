@@ -0,0 +1,208 @@
+package com.univsoftdev.di4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Reads the class-level annotations of a class file without loading the
+ * class. Only the constant pool and the {@code RuntimeVisibleAnnotations}
+ * attribute of the class are interpreted; everything else is skipped.
+ * <p>
+ * If no constant pool string matches one of the requested annotation
+ * descriptors, the class cannot carry the annotation and parsing stops right
+ * after the constant pool.
+ */
+final class ClassFileHeader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.US_ASCII);
+
+    private ClassFileHeader() {
+    }
+
+    /**
+     * Encodes the field descriptors of annotation types as they appear in a
+     * class file, for example {@code Lcom/example/Component;}.
+     *
+     * @param annotationTypes The annotation types.
+     * @return The UTF-8 encoded descriptors.
+     */
+    static byte[][] descriptorsOf(Collection<Class<? extends Annotation>> annotationTypes) {
+        return annotationTypes.stream()
+                .map(type -> ("L" + type.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+    }
+
+    /**
+     * Returns whether a class file carries at least one of the given runtime
+     * visible annotations on the class itself. Constant pool strings are
+     * compared as raw bytes and never decoded.
+     *
+     * @param bytes The class file contents.
+     * @param descriptors The UTF-8 encoded annotation descriptors.
+     * @return True if the class is annotated with one of them.
+     * @throws IOException If the bytes are not a valid class file.
+     */
+    static boolean hasAnnotation(byte[] bytes, byte[][] descriptors) throws IOException {
+        try {
+            return new Reader(bytes).hasAnnotation(descriptors);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new EOFException("Truncated class file");
+        }
+    }
+
+    /**
+     * A cursor over the bytes of one class file.
+     */
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+        /**
+         * The offset of the length of each CONSTANT_Utf8 entry, or 0 for
+         * other entries.
+         */
+        private int[] strings;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasAnnotation(byte[][] descriptors) throws IOException {
+            if (readInt() != MAGIC) {
+                throw new IOException("Not a class file");
+            }
+            position += 4; // minor and major version
+
+            int count = readUnsignedShort();
+            strings = new int[count];
+            boolean candidate = false;
+            for (int i = 1; i < count; i++) {
+                int tag = bytes[position++] & 0xFF;
+                switch (tag) {
+                    case 1 -> {
+                        strings[i] = position;
+                        candidate = candidate || matchesAny(position, descriptors);
+                        int length = readUnsignedShort();
+                        position += length;
+                    }
+                    case 7, 8, 16, 19, 20 -> position += 2;
+                    case 15 -> position += 3;
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> position += 4;
+                    case 5, 6 -> {
+                        // Long and double constants take two pool entries
+                        position += 8;
+                        i++;
+                    }
+                    default -> throw new IOException("Invalid constant pool tag " + tag + " at index " + i);
+                }
+            }
+            if (!candidate) {
+                return false;
+            }
+
+            position += 6; // access flags, this class, super class
+            int interfaces = readUnsignedShort();
+            position += 2 * interfaces;
+            skipMembers(); // fields
+            skipMembers(); // methods
+
+            int attributes = readUnsignedShort();
+            for (int i = 0; i < attributes; i++) {
+                int name = readUnsignedShort();
+                int length = readInt();
+                if (!matches(strings[name], RUNTIME_VISIBLE_ANNOTATIONS)) {
+                    position += length;
+                    continue;
+                }
+                int annotations = readUnsignedShort();
+                for (int j = 0; j < annotations; j++) {
+                    if (matchesAny(strings[readUnsignedShort()], descriptors)) {
+                        return true;
+                    }
+                    skipElementValuePairs();
+                }
+            }
+            return false;
+        }
+
+        private void skipMembers() {
+            int members = readUnsignedShort();
+            for (int i = 0; i < members; i++) {
+                position += 6; // access flags, name, descriptor
+                int attributes = readUnsignedShort();
+                for (int j = 0; j < attributes; j++) {
+                    position += 2;
+                    int length = readInt();
+                    position += length;
+                }
+            }
+        }
+
+        private void skipElementValuePairs() throws IOException {
+            int pairs = readUnsignedShort();
+            for (int i = 0; i < pairs; i++) {
+                position += 2; // element name
+                skipElementValue();
+            }
+        }
+
+        private void skipElementValue() throws IOException {
+            int tag = bytes[position++] & 0xFF;
+            switch (tag) {
+                case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> position += 2;
+                case 'e' -> position += 4;
+                case '@' -> {
+                    position += 2;
+                    skipElementValuePairs();
+                }
+                case '[' -> {
+                    int values = readUnsignedShort();
+                    for (int i = 0; i < values; i++) {
+                        skipElementValue();
+                    }
+                }
+                default -> throw new IOException("Invalid element value tag " + (char) tag);
+            }
+        }
+
+        /**
+         * Returns whether the CONSTANT_Utf8 entry at an offset equals one of
+         * the expected byte sequences.
+         */
+        private boolean matchesAny(int offset, byte[][] expected) {
+            for (byte[] candidate : expected) {
+                if (matches(offset, candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matches(int offset, byte[] expected) {
+            if (offset == 0) {
+                return false;
+            }
+            int length = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+            return length == expected.length
+                    && Arrays.equals(bytes, offset + 2, offset + 2 + length, expected, 0, length);
+        }
+
+        private int readUnsignedShort() {
+            int value = ((bytes[position] & 0xFF) << 8) | (bytes[position + 1] & 0xFF);
+            position += 2;
+            return value;
+        }
+
+        private int readInt() {
+            int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                    | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            position += 4;
+            return value;
+        }
+    }
+}
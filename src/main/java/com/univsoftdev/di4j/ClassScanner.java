@@ -1,14 +1,23 @@
 package com.univsoftdev.di4j;
 
+import com.univsoftdev.di4j.jfr.ComponentScanEvent;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.net.JarURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -21,79 +30,100 @@ public class ClassScanner {
         com.univsoftdev.di4j.annotations.Controller.class
     );
 
+    private static final byte[][] COMPONENT_DESCRIPTORS = ClassFileHeader.descriptorsOf(COMPONENT_ANNOTATIONS);
+
+    /**
+     * The number of files or jar entries a scan task checks itself before
+     * splitting the rest off to other workers.
+     */
+    private static final int SPLIT_THRESHOLD = 128;
+
     public static Set<Class<?>> scanForComponents(String basePackage) {
-        Set<Class<?>> classes = new HashSet<>();
-        String path = basePackage.replace('.', '/');
-
-        try {
-            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            Enumeration<URL> resources = classLoader.getResources(path);
-
-            while (resources.hasMoreElements()) {
-                URL resource = resources.nextElement();
-                String protocol = resource.getProtocol();
-
-                if ("file".equals(protocol)) {
-                    String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
-                    File directory = new File(filePath);
-                    classes.addAll(findClasses(directory, basePackage));
-                } else if ("jar".equals(protocol)) {
-                    JarURLConnection jarConn = (JarURLConnection) resource.openConnection();
-                    JarFile jarFile = jarConn.getJarFile();
-                    Enumeration<JarEntry> entries = jarFile.entries();
-
-                    while (entries.hasMoreElements()) {
-                        JarEntry entry = entries.nextElement();
-                        String entryName = entry.getName();
-
-                        if (entryName.startsWith(path) && entryName.endsWith(".class") && !entry.isDirectory()) {
-                            String className = entryName.replace('/', '.').substring(0, entryName.length() - 6);
-                            try {
-                                Class<?> clazz = Class.forName(className);
-                                if (isComponent(clazz)) {
-                                    classes.add(clazz);
-                                }
-                            } catch (ClassNotFoundException e) {
-                                throw new RuntimeException("Failed to load class from JAR: " + className, e);
-                            }
-                        }
+        return scanForComponents(basePackage, ScanMode.REFLECTION);
+    }
+
+    /**
+     * Finds the component classes in a package and its subpackages.
+     *
+     * @param basePackage The package to scan.
+     * @param mode How classes are checked for component stereotypes.
+     * @return The component classes.
+     */
+    public static Set<Class<?>> scanForComponents(String basePackage, ScanMode mode) {
+        return scanForComponents(new String[]{basePackage}, mode, 1);
+    }
+
+    /**
+     * Finds the component classes in several packages and their
+     * subpackages. With a parallelism above one the work is split across a
+     * fork/join pool of that size: per base package, per classpath root, per
+     * directory subtree and per range of files or jar entries.
+     *
+     * @param basePackages The packages to scan.
+     * @param mode How classes are checked for component stereotypes.
+     * @param parallelism The number of scanning threads; 1 scans on the
+     * calling thread.
+     * @return The component classes.
+     */
+    public static Set<Class<?>> scanForComponents(String[] basePackages, ScanMode mode, int parallelism) {
+        ComponentScanEvent event = new ComponentScanEvent();
+        event.begin();
+        Scan scan = new Scan(mode, Thread.currentThread().getContextClassLoader());
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (String basePackage : basePackages) {
+            tasks.add(new PackageScan(scan, basePackage));
+        }
+
+        if (parallelism <= 1) {
+            tasks.forEach(ForkJoinTask::invoke);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
                     }
-                }
+                });
+            } finally {
+                pool.shutdown();
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Error scanning package: " + basePackage, e);
         }
 
-        return classes;
+        if (event.shouldCommit()) {
+            event.basePackages = String.join(",", basePackages);
+            event.mode = mode.name();
+            event.parallelism = parallelism;
+            event.components = scan.classes.size();
+            event.commit();
+        }
+        return scan.classes;
     }
 
-    private static Set<Class<?>> findClasses(File directory, String packageName) {
-        Set<Class<?>> classes = new HashSet<>();
-        if (!directory.exists()) {
-            return classes;
+    /**
+     * Runs subtasks in parallel inside a fork/join pool, or one after the
+     * other on the calling thread otherwise.
+     */
+    private static void run(List<RecursiveAction> tasks) {
+        if (ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            tasks.forEach(ForkJoinTask::invoke);
         }
+    }
 
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return classes;
+    /**
+     * Returns the classpath root a package resource was found in.
+     */
+    private static URL rootOf(URL resource, String path) throws MalformedURLException {
+        String location = resource.toExternalForm();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
         }
-
-        for (File file : files) {
-            if (file.isDirectory()) {
-                classes.addAll(findClasses(file, packageName + "." + file.getName()));
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
-                try {
-                    Class<?> clazz = Class.forName(className);
-                    if (isComponent(clazz)) {
-                        classes.add(clazz);
-                    }
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException("Failed to load class: " + className, e);
-                }
-            }
+        if (!path.isEmpty() && location.endsWith(path)) {
+            location = location.substring(0, location.length() - path.length());
         }
-        return classes;
+        return new URL(location.endsWith("/") ? location : location + "/");
     }
 
     private static boolean isComponent(Class<?> clazz) {
@@ -104,4 +134,227 @@ public class ClassScanner {
         }
         return false;
     }
+
+    /**
+     * The state shared by all tasks of one scan. Found components are
+     * collected into a concurrent set.
+     */
+    private static final class Scan {
+
+        private final ScanMode mode;
+        private final ClassLoader classLoader;
+        private final Set<Class<?>> classes = ConcurrentHashMap.newKeySet();
+
+        Scan(ScanMode mode, ClassLoader classLoader) {
+            this.mode = mode;
+            this.classLoader = classLoader;
+        }
+
+        /**
+         * Loads the indexed components of a base package without
+         * initializing them.
+         */
+        void addIndexed(ComponentIndex index, String basePackage) {
+            for (ComponentIndex.Entry entry : index.getEntries()) {
+                if (entry.isInPackage(basePackage)) {
+                    try {
+                        classes.add(Class.forName(entry.getClassName(), false, classLoader));
+                    } catch (ClassNotFoundException e) {
+                        throw new RuntimeException("Failed to load indexed class: " + entry.getClassName(), e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks one class file and records the class if it is a component.
+         * In CLASS_FILE mode only the header is read and the class is loaded
+         * without initialization; otherwise every class is loaded, also
+         * without initialization, and inspected through reflection.
+         *
+         * @param className The binary name of the class.
+         * @param contents Opens the class file, only used in CLASS_FILE mode.
+         * @throws IOException If the class file cannot be read.
+         */
+        void check(String className, ClassFileSource contents) throws IOException {
+            if (mode == ScanMode.CLASS_FILE) {
+                if (ClassFileHeader.hasAnnotation(contents.read(), COMPONENT_DESCRIPTORS)) {
+                    try {
+                        classes.add(Class.forName(className, false, classLoader));
+                    } catch (ClassNotFoundException e) {
+                        throw new RuntimeException("Failed to load class: " + className, e);
+                    }
+                }
+                return;
+            }
+            try {
+                Class<?> clazz = Class.forName(className, false, classLoader);
+                if (isComponent(clazz)) {
+                    classes.add(clazz);
+                }
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException("Failed to load class: " + className, e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ClassFileSource {
+
+        byte[] read() throws IOException;
+    }
+
+    /**
+     * Scans every classpath root that contains a base package.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class PackageScan extends RecursiveAction {
+
+        private final Scan scan;
+        private final String basePackage;
+
+        PackageScan(Scan scan, String basePackage) {
+            this.scan = scan;
+            this.basePackage = basePackage;
+        }
+
+        @Override
+        protected void compute() {
+            String path = basePackage.replace('.', '/');
+            List<RecursiveAction> roots = new ArrayList<>();
+            try {
+                Enumeration<URL> resources = scan.classLoader.getResources(path);
+                while (resources.hasMoreElements()) {
+                    URL resource = resources.nextElement();
+                    String protocol = resource.getProtocol();
+
+                    // A build-time index makes walking this classpath root unnecessary
+                    ComponentIndex index = ComponentIndex.read(rootOf(resource, path));
+                    if (index != null) {
+                        scan.addIndexed(index, basePackage);
+                    } else if ("file".equals(protocol)) {
+                        String filePath = URLDecoder.decode(resource.getFile(), "UTF-8");
+                        File directory = new File(filePath);
+                        File[] files = directory.listFiles();
+                        if (files != null) {
+                            roots.add(new DirectoryScan(scan, basePackage, files, 0, files.length));
+                        }
+                    } else if ("jar".equals(protocol)) {
+                        JarURLConnection jarConn = (JarURLConnection) resource.openConnection();
+                        JarFile jarFile = jarConn.getJarFile();
+                        List<JarEntry> classEntries = new ArrayList<>();
+                        Enumeration<JarEntry> entries = jarFile.entries();
+                        while (entries.hasMoreElements()) {
+                            JarEntry entry = entries.nextElement();
+                            String entryName = entry.getName();
+                            if (entryName.startsWith(path) && entryName.endsWith(".class") && !entry.isDirectory()) {
+                                classEntries.add(entry);
+                            }
+                        }
+                        roots.add(new JarScan(scan, jarFile, classEntries, 0, classEntries.size()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Error scanning package: " + basePackage, e);
+            }
+            run(roots);
+        }
+    }
+
+    /**
+     * Checks a range of the entries of one directory, descending into
+     * subdirectories as separate tasks.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class DirectoryScan extends RecursiveAction {
+
+        private final Scan scan;
+        private final String packageName;
+        private final File[] files;
+        private final int from;
+        private final int to;
+
+        DirectoryScan(Scan scan, String packageName, File[] files, int from, int to) {
+            this.scan = scan;
+            this.packageName = packageName;
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                run(List.of(new DirectoryScan(scan, packageName, files, from, middle),
+                        new DirectoryScan(scan, packageName, files, middle, to)));
+                return;
+            }
+
+            List<RecursiveAction> subdirectories = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                File file = files[i];
+                if (file.isDirectory()) {
+                    File[] children = file.listFiles();
+                    if (children != null) {
+                        subdirectories.add(new DirectoryScan(scan, packageName + "." + file.getName(),
+                                children, 0, children.length));
+                    }
+                } else if (file.getName().endsWith(".class")) {
+                    String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
+                    try {
+                        scan.check(className, () -> Files.readAllBytes(file.toPath()));
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to read class file: " + file, e);
+                    }
+                }
+            }
+            run(subdirectories);
+        }
+    }
+
+    /**
+     * Checks a range of the class entries of a jar file.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class JarScan extends RecursiveAction {
+
+        private final Scan scan;
+        private final JarFile jarFile;
+        private final List<JarEntry> entries;
+        private final int from;
+        private final int to;
+
+        JarScan(Scan scan, JarFile jarFile, List<JarEntry> entries, int from, int to) {
+            this.scan = scan;
+            this.jarFile = jarFile;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                run(List.of(new JarScan(scan, jarFile, entries, from, middle),
+                        new JarScan(scan, jarFile, entries, middle, to)));
+                return;
+            }
+
+            for (JarEntry entry : entries.subList(from, to)) {
+                String entryName = entry.getName();
+                String className = entryName.replace('/', '.').substring(0, entryName.length() - 6);
+                try {
+                    scan.check(className, () -> {
+                        try (InputStream input = jarFile.getInputStream(entry)) {
+                            return input.readAllBytes();
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to load class from JAR: " + className, e);
+                }
+            }
+        }
+    }
 }
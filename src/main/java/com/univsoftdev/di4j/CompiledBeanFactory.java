@@ -0,0 +1,183 @@
+package com.univsoftdev.di4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import com.univsoftdev.di4j.exceptions.BeanResolutionException;
+
+/**
+ * A {@link BeanFactory} backed by method handles. The members listed in the
+ * {@link InjectionPlan} of a class are bound once into {@link MethodHandle}s
+ * with erased signatures, so creating an instance performs no reflective
+ * calls.
+ */
+final class CompiledBeanFactory implements BeanFactory {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final Injector injector;
+    private final Class<?> type;
+    private final MethodHandle constructor;
+    private final InjectionPoint[] constructorParameters;
+    private final MethodHandle[] fieldSetters;
+    private final InjectionPoint[] fieldPoints;
+    private final MethodHandle[] methods;
+    private final InjectionPoint[][] methodParameters;
+    private final String[] methodNames;
+    private final MethodHandle[] postConstructMethods;
+    private final MethodHandle[] asyncPostConstructMethods;
+
+    private CompiledBeanFactory(Injector injector, InjectionPlan plan, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        this.injector = injector;
+        this.type = plan.getType();
+
+        List<InjectionPoint> parameters = plan.getConstructorParameters();
+        this.constructor = lookup.unreflectConstructor(plan.getConstructor())
+                .asSpreader(Object[].class, parameters.size())
+                .asType(CONSTRUCTOR_TYPE);
+        this.constructorParameters = parameters.toArray(InjectionPoint[]::new);
+
+        List<Field> fields = plan.getFields();
+        this.fieldSetters = new MethodHandle[fields.size()];
+        for (int i = 0; i < fieldSetters.length; i++) {
+            fieldSetters[i] = lookup.unreflectSetter(fields.get(i)).asType(SETTER_TYPE);
+        }
+        this.fieldPoints = plan.getFieldPoints().toArray(InjectionPoint[]::new);
+
+        List<Method> injectedMethods = plan.getMethods();
+        this.methods = new MethodHandle[injectedMethods.size()];
+        this.methodParameters = new InjectionPoint[methods.length][];
+        this.methodNames = new String[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            methodNames[i] = injectedMethods.get(i).getName();
+            methodParameters[i] = plan.getMethodParameters().get(i).toArray(InjectionPoint[]::new);
+            methods[i] = lookup.unreflect(injectedMethods.get(i))
+                    .asSpreader(Object[].class, methodParameters[i].length)
+                    .asType(METHOD_TYPE);
+        }
+
+        this.postConstructMethods = callbacks(plan.getPostConstructMethods(), lookup);
+        this.asyncPostConstructMethods = callbacks(plan.getAsyncPostConstructMethods(), lookup);
+    }
+
+    /**
+     * Binds lifecycle callbacks into handles taking the bean. A static
+     * callback ignores the bean.
+     *
+     * @param methods The callback methods, without parameters.
+     * @param lookup The lookup with access to the methods.
+     * @return The handles, in the order of the methods.
+     * @throws IllegalAccessException If a method cannot be accessed.
+     */
+    static MethodHandle[] callbacks(List<Method> methods, MethodHandles.Lookup lookup) throws IllegalAccessException {
+        MethodHandle[] handles = new MethodHandle[methods.size()];
+        for (int i = 0; i < handles.length; i++) {
+            Method method = methods.get(i);
+            MethodHandle handle = lookup.unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            handles[i] = handle.asType(CALLBACK_TYPE);
+        }
+        return handles;
+    }
+
+    /**
+     * Compiles a factory from the injection plan of a class.
+     *
+     * @param injector The injector used to resolve dependencies.
+     * @param plan The injection plan of the bean class.
+     * @return The compiled factory, or null if the plan uses an injection form
+     * that only the reflective path supports.
+     * @throws IllegalAccessException If the class members cannot be accessed
+     * through a method handle lookup.
+     */
+    static BeanFactory compile(Injector injector, InjectionPlan plan) throws IllegalAccessException {
+        for (Field field : plan.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                return null;
+            }
+        }
+        for (Method method : plan.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                return null;
+            }
+        }
+        for (List<Method> callbacks : List.of(plan.getPostConstructMethods(), plan.getAsyncPostConstructMethods())) {
+            for (Method method : callbacks) {
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+                    return null;
+                }
+            }
+        }
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(plan.getType(), MethodHandles.lookup());
+        return new CompiledBeanFactory(injector, plan, lookup);
+    }
+
+    @Override
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public Object create() {
+        Object[] arguments = new Object[constructorParameters.length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = injector.resolveInjectionPoint(constructorParameters[i]);
+        }
+
+        Object instance;
+        try {
+            instance = (Object) constructor.invokeExact(arguments);
+        } catch (Throwable e) {
+            throw new BeanResolutionException("Error creating instance of " + type.getName(), e);
+        }
+
+        for (int i = 0; i < fieldSetters.length; i++) {
+            Object value = injector.resolveInjectionPoint(fieldPoints[i]);
+            try {
+                fieldSetters[i].invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw new RuntimeException("Error injecting field: " + fieldPoints[i].getName(), e);
+            }
+        }
+
+        for (int i = 0; i < methods.length; i++) {
+            InjectionPoint[] points = methodParameters[i];
+            Object[] values = new Object[points.length];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = injector.resolveInjectionPoint(points[j]);
+            }
+            try {
+                methods[i].invokeExact(instance, values);
+            } catch (Throwable e) {
+                throw new RuntimeException("Error injecting method: " + methodNames[i], e);
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public void postConstruct(Object bean) {
+        for (MethodHandle method : postConstructMethods) {
+            try {
+                method.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new RuntimeException("Error invoking @PostConstruct method", e);
+            }
+        }
+    }
+
+    @Override
+    public MethodHandle[] getAsyncPostConstructMethods() {
+        return asyncPostConstructMethods;
+    }
+}
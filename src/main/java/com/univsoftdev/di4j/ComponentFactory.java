@@ -0,0 +1,69 @@
+package com.univsoftdev.di4j;
+
+/**
+ * A factory for one component class, generated at compile time by the
+ * di4j annotation processor. It carries the registration metadata the
+ * {@link Injector} would otherwise read from annotations, and creates and
+ * initializes instances with plain constructor calls, field assignments and
+ * method calls instead of reflection.
+ * <p>
+ * Generated factories are listed by a {@link ComponentRegistry}; they are not
+ * meant to be written by hand.
+ *
+ * @param <T> The component type.
+ */
+public interface ComponentFactory<T> {
+
+    /**
+     * Returns the component class this factory instantiates.
+     *
+     * @return The component class.
+     */
+    Class<T> getType();
+
+    /**
+     * Returns the qualifier the component is registered under: its @Qualifier
+     * value, or the lowercase simple name of the class.
+     *
+     * @return The qualifier.
+     */
+    String getQualifier();
+
+    /**
+     * Returns whether the component is a singleton.
+     *
+     * @return True unless the class is annotated with a prototype @Scope.
+     */
+    boolean isSingleton();
+
+    /**
+     * Returns whether the component is annotated with @Lazy.
+     *
+     * @return True if the component is lazy.
+     */
+    boolean isLazy();
+
+    /**
+     * Returns whether the component is annotated with @Primary.
+     *
+     * @return True if the component is primary.
+     */
+    boolean isPrimary();
+
+    /**
+     * Constructs a new instance and injects its @Inject and @Value fields and
+     * methods, resolving every dependency through the injector.
+     *
+     * @param injector The injector resolving dependencies and properties.
+     * @return The injected, not yet initialized instance.
+     */
+    T create(Injector injector);
+
+    /**
+     * Invokes the @PostConstruct methods of an instance, superclass methods
+     * first.
+     *
+     * @param bean The bean instance.
+     */
+    void postConstruct(T bean);
+}
@@ -0,0 +1,104 @@
+package com.univsoftdev.di4j;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The component index written at build time by the di4j annotation processor
+ * to {@value #RESOURCE} in each classpath root. Each line describes one
+ * component as {@code className|stereotype|qualifier|scope|lazy|primary};
+ * lines starting with {@code #} are comments.
+ * <p>
+ * Only the class name is read here: the scanner returns classes and the
+ * {@link Injector} registers them from their annotations. The remaining
+ * columns describe the component for build tools.
+ */
+final class ComponentIndex {
+
+    static final String RESOURCE = "META-INF/di4j/components.idx";
+
+    private final List<Entry> entries;
+
+    private ComponentIndex(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Reads the index of a classpath root.
+     *
+     * @param root The URL of the classpath root, ending with a slash.
+     * @return The index, or null if the root has none.
+     * @throws IOException If the index exists but cannot be read.
+     */
+    static ComponentIndex read(URL root) throws IOException {
+        URLConnection connection;
+        try {
+            connection = new URL(root, RESOURCE).openConnection();
+            connection.setUseCaches(false);
+            connection.connect();
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\|", -1);
+                if (fields.length != 6) {
+                    throw new IOException("Malformed component index line in " + root + ": " + line);
+                }
+                entries.add(new Entry(fields[0]));
+            }
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        return new ComponentIndex(entries);
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * One indexed component.
+     */
+    static final class Entry {
+
+        private final String className;
+
+        Entry(String className) {
+            this.className = className;
+        }
+
+        /**
+         * Returns the binary name of the component class.
+         */
+        String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns whether the component lives in a package or one of its
+         * subpackages.
+         */
+        boolean isInPackage(String basePackage) {
+            int lastDot = className.lastIndexOf('.');
+            String packageName = lastDot < 0 ? "" : className.substring(0, lastDot);
+            return packageName.equals(basePackage) || packageName.startsWith(basePackage + ".");
+        }
+    }
+}
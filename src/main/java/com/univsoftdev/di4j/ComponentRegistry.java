@@ -0,0 +1,34 @@
+package com.univsoftdev.di4j;
+
+import java.util.List;
+
+/**
+ * The list of components found by the di4j annotation processor in one
+ * compilation. Registries are discovered with {@link java.util.ServiceLoader};
+ * the processor writes the matching {@code META-INF/services} entry.
+ * <p>
+ * When a registry lists components inside a configured base package, the
+ * {@link Injector} registers them from the registry. The package is still
+ * scanned for components of other compilations, but classes with a
+ * generated factory are not registered again.
+ */
+public interface ComponentRegistry {
+
+    /**
+     * Returns the generated factories of the components in this compilation.
+     *
+     * @return The component factories.
+     */
+    List<ComponentFactory<?>> getFactories();
+
+    /**
+     * Returns the components the processor could not generate a factory for,
+     * for example because an injected member is private. The injector
+     * registers them without scanning and instantiates them reflectively.
+     *
+     * @return The component classes without a generated factory.
+     */
+    default List<Class<?>> getReflectiveComponents() {
+        return List.of();
+    }
+}
@@ -1,10 +1,21 @@
 package com.univsoftdev.di4j;
 
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
 public class Configuration {
 
     private boolean lazyInit = false;
     private boolean autoDetectComponents = true;
     private String[] basePackages = {};
+    private ScanMode scanMode = ScanMode.REFLECTION;
+    private int scanParallelism = 1;
+    private Executor initializationExecutor;
+    private Path startupCacheFile;
+    private boolean failOnValidationError = false;
+    private boolean startupProfiling = false;
+    private boolean metricsEnabled = false;
+    private String metricsName;
 
     public Configuration setLazyInit(boolean lazyInit) {
         this.lazyInit = lazyInit;
@@ -21,6 +32,88 @@ public class Configuration {
         return this;
     }
 
+    public Configuration setScanMode(ScanMode scanMode) {
+        this.scanMode = scanMode;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads used to scan the base packages. The default
+     * of 1 scans on the constructing thread.
+     */
+    public Configuration setScanParallelism(int scanParallelism) {
+        if (scanParallelism < 1) {
+            throw new IllegalArgumentException("Scan parallelism must be at least 1: " + scanParallelism);
+        }
+        this.scanParallelism = scanParallelism;
+        return this;
+    }
+
+    /**
+     * Sets the executor used to create eager singletons concurrently, in
+     * dependency-ordered waves. Any executor works, including one that starts
+     * a virtual thread per task. The default of null creates them one by one
+     * on the constructing thread.
+     */
+    public Configuration setInitializationExecutor(Executor initializationExecutor) {
+        this.initializationExecutor = initializationExecutor;
+        return this;
+    }
+
+    /**
+     * Sets the file the scanned definitions, their dependency edges and the
+     * validation result are cached in between runs. The cache is keyed by a
+     * fingerprint of the sizes and modification times of the classpath
+     * entries holding the base packages; when it does not match, the packages
+     * are scanned again and the file is rewritten. The default of null
+     * disables the cache.
+     */
+    public Configuration setStartupCacheFile(Path startupCacheFile) {
+        this.startupCacheFile = startupCacheFile;
+        return this;
+    }
+
+    /**
+     * Sets whether the injector constructor throws when bean validation finds
+     * problems. By default they are only logged.
+     */
+    public Configuration setFailOnValidationError(boolean failOnValidationError) {
+        this.failOnValidationError = failOnValidationError;
+        return this;
+    }
+
+    /**
+     * Sets whether the injector records a {@link StartupReport} with the
+     * duration of its startup phases and the cost of every bean its
+     * constructor creates. Disabled by default.
+     */
+    public Configuration setStartupProfiling(boolean startupProfiling) {
+        this.startupProfiling = startupProfiling;
+        return this;
+    }
+
+    /**
+     * Sets whether the injector counts resolutions, singleton cache hits and
+     * prototype instantiations and measures Lazy and post-processor latency.
+     * The metrics are available from {@link Injector#stats()} and from a
+     * platform MBean. Disabled by default, which leaves resolution untouched.
+     */
+    public Configuration setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the {@code name} key of the ObjectName the metrics MBean is
+     * registered under, {@code com.univsoftdev.di4j:type=Injector,name=...}.
+     * The name is quoted with {@link javax.management.ObjectName#quote}. The
+     * default of null generates a unique name per injector.
+     */
+    public Configuration setMetricsName(String metricsName) {
+        this.metricsName = metricsName;
+        return this;
+    }
+
     // Getters
     public boolean isLazyInit() {
         return lazyInit;
@@ -33,4 +126,36 @@ public class Configuration {
     public String[] getBasePackages() {
         return basePackages;
     }
+
+    public ScanMode getScanMode() {
+        return scanMode;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    public Executor getInitializationExecutor() {
+        return initializationExecutor;
+    }
+
+    public Path getStartupCacheFile() {
+        return startupCacheFile;
+    }
+
+    public boolean isFailOnValidationError() {
+        return failOnValidationError;
+    }
+
+    public boolean isStartupProfiling() {
+        return startupProfiling;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public String getMetricsName() {
+        return metricsName;
+    }
 }
@@ -0,0 +1,175 @@
+package com.univsoftdev.di4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependency graph of the registered bean definitions. An edge leads from
+ * a bean to every bean it needs before it can be constructed and injected;
+ * Lazy, Supplier, @Lazy and @Value injection points create no edges. The
+ * graph also collects the problems found while building it, such as
+ * injection points that resolve to no bean or to several.
+ * <p>
+ * The graph is built once at startup, validated in a single pass and reused
+ * to order eager singleton initialization.
+ */
+final class DependencyGraph {
+
+    private final Map<BeanDefinition, List<BeanDefinition>> dependencies = new IdentityHashMap<>();
+    private final List<String> problems = new ArrayList<>();
+
+    /**
+     * Adds a bean to the graph without dependencies.
+     */
+    void addNode(BeanDefinition definition) {
+        dependencies.computeIfAbsent(definition, k -> new ArrayList<>());
+    }
+
+    /**
+     * Adds an edge from a bean to one of its dependencies.
+     */
+    void addDependency(BeanDefinition definition, BeanDefinition dependency) {
+        addNode(dependency);
+        dependencies.computeIfAbsent(definition, k -> new ArrayList<>()).add(dependency);
+    }
+
+    void addProblem(String problem) {
+        problems.add(problem);
+    }
+
+    /**
+     * Returns the direct dependencies of a bean.
+     */
+    List<BeanDefinition> dependenciesOf(BeanDefinition definition) {
+        return dependencies.getOrDefault(definition, Collections.emptyList());
+    }
+
+    Set<BeanDefinition> getNodes() {
+        return dependencies.keySet();
+    }
+
+    /**
+     * Returns the problems found while building the graph, one per line.
+     */
+    List<String> getProblems() {
+        return problems;
+    }
+
+    boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * Finds every dependency cycle with Tarjan's strongly connected
+     * components algorithm, in time linear in the number of beans and edges.
+     * Each strongly connected component with more than one bean, or with a
+     * bean depending on itself, yields one cycle through its first bean.
+     *
+     * @return The cycles, each starting and ending with the same bean.
+     */
+    List<List<BeanDefinition>> findCycles() {
+        Map<BeanDefinition, Integer> index = new IdentityHashMap<>();
+        Map<BeanDefinition, Integer> lowLink = new IdentityHashMap<>();
+        Set<BeanDefinition> onStack = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<BeanDefinition> stack = new ArrayDeque<>();
+        List<List<BeanDefinition>> cycles = new ArrayList<>();
+
+        // An explicit call stack keeps deep graphs from overflowing the thread stack
+        Deque<Frame> frames = new ArrayDeque<>();
+        for (BeanDefinition root : dependencies.keySet()) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+            frames.push(new Frame(root));
+            while (!frames.isEmpty()) {
+                Frame frame = frames.peek();
+                BeanDefinition node = frame.node;
+                if (frame.next == 0) {
+                    index.put(node, index.size());
+                    lowLink.put(node, index.get(node));
+                    stack.push(node);
+                    onStack.add(node);
+                }
+
+                List<BeanDefinition> edges = dependenciesOf(node);
+                if (frame.next < edges.size()) {
+                    BeanDefinition dependency = edges.get(frame.next++);
+                    if (!index.containsKey(dependency)) {
+                        frames.push(new Frame(dependency));
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.put(node, Math.min(lowLink.get(node), index.get(dependency)));
+                    }
+                    continue;
+                }
+
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    BeanDefinition parent = frames.peek().node;
+                    lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(node)));
+                }
+                if (lowLink.get(node).equals(index.get(node))) {
+                    Set<BeanDefinition> component = Collections.newSetFromMap(new IdentityHashMap<>());
+                    BeanDefinition member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (member != node);
+                    if (component.size() > 1 || dependenciesOf(node).contains(node)) {
+                        cycles.add(cycleThrough(node, component));
+                    }
+                }
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Finds a shortest cycle from a bean back to itself, staying inside its
+     * strongly connected component.
+     */
+    private List<BeanDefinition> cycleThrough(BeanDefinition start, Set<BeanDefinition> component) {
+        Map<BeanDefinition, BeanDefinition> previous = new IdentityHashMap<>();
+        Deque<BeanDefinition> pending = new ArrayDeque<>();
+        pending.add(start);
+        while (!pending.isEmpty()) {
+            BeanDefinition node = pending.poll();
+            for (BeanDefinition dependency : dependenciesOf(node)) {
+                if (dependency == start) {
+                    List<BeanDefinition> cycle = new ArrayList<>();
+                    cycle.add(start);
+                    for (BeanDefinition step = node; step != start; step = previous.get(step)) {
+                        cycle.add(step);
+                    }
+                    cycle.add(start);
+                    Collections.reverse(cycle);
+                    return cycle;
+                }
+                if (component.contains(dependency) && !previous.containsKey(dependency)) {
+                    previous.put(dependency, node);
+                    pending.add(dependency);
+                }
+            }
+        }
+        throw new IllegalStateException("No cycle through " + start.getKey());
+    }
+
+    /**
+     * A bean being visited and the position of the next edge to follow.
+     */
+    private static final class Frame {
+
+        private final BeanDefinition node;
+        private int next;
+
+        Frame(BeanDefinition node) {
+            this.node = node;
+        }
+    }
+}
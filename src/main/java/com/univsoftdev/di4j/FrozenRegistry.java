@@ -0,0 +1,78 @@
+package com.univsoftdev.di4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The immutable registry an {@link Injector} switches to when it is frozen.
+ * Every bean definition gets a dense integer id, singletons live in a flat
+ * array indexed by that id, and the type-to-id mapping used by
+ * {@link Injector#resolve(Class)} is served by a {@link ClassValue}.
+ * <p>
+ * The class value only stores boxed ids, never definitions or instances, so
+ * it holds no reference back to the injector and cannot keep it alive.
+ */
+final class FrozenRegistry {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Integer UNKNOWN = -1;
+
+    private final BeanDefinition[] definitions;
+    private final Object[] singletons;
+    private final ClassValue<Integer> ids;
+
+    /**
+     * Creates a frozen registry.
+     *
+     * @param definitions The definitions, indexed by their assigned id.
+     * @param resolvedIds The id chosen for each type resolvable by
+     * {@link Injector#resolve(Class)}.
+     */
+    FrozenRegistry(BeanDefinition[] definitions, Map<Class<?>, Integer> resolvedIds) {
+        this.definitions = definitions.clone();
+        this.singletons = new Object[definitions.length];
+        this.ids = new ClassValue<>() {
+            @Override
+            protected Integer computeValue(Class<?> type) {
+                return resolvedIds.getOrDefault(type, UNKNOWN);
+            }
+        };
+    }
+
+    /**
+     * Returns the id of the definition resolved for a type.
+     *
+     * @param type The requested type.
+     * @return The definition id, or -1 if the type has no unambiguous bean.
+     */
+    int idOf(Class<?> type) {
+        return ids.get(type);
+    }
+
+    BeanDefinition definition(int id) {
+        return definitions[id];
+    }
+
+    /**
+     * Returns the published singleton for an id, or null if it has not been
+     * created yet.
+     */
+    Object singleton(int id) {
+        return SLOTS.getAcquire(singletons, id);
+    }
+
+    /**
+     * Publishes a created singleton so later reads see a fully initialized
+     * instance.
+     */
+    void publish(int id, Object instance) {
+        SLOTS.setRelease(singletons, id, instance);
+    }
+
+    void clear() {
+        Arrays.fill(singletons, null);
+        VarHandle.releaseFence();
+    }
+}
@@ -0,0 +1,56 @@
+package com.univsoftdev.di4j;
+
+import com.univsoftdev.di4j.exceptions.BeanResolutionException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * A {@link BeanFactory} delegating to a {@link ComponentFactory} generated at
+ * compile time. The processor leaves asynchronous @PostConstruct methods
+ * to the runtime, so their handles are bound from the injection plan on
+ * first use.
+ *
+ * @param <T> The component type.
+ */
+final class GeneratedBeanFactory<T> implements BeanFactory {
+
+    private final Injector injector;
+    private final ComponentFactory<T> factory;
+    private volatile MethodHandle[] asyncPostConstructMethods;
+
+    GeneratedBeanFactory(Injector injector, ComponentFactory<T> factory) {
+        this.injector = injector;
+        this.factory = factory;
+    }
+
+    @Override
+    public Class<?> getType() {
+        return factory.getType();
+    }
+
+    @Override
+    public Object create() {
+        return factory.create(injector);
+    }
+
+    @Override
+    public void postConstruct(Object bean) {
+        factory.postConstruct(factory.getType().cast(bean));
+    }
+
+    @Override
+    public MethodHandle[] getAsyncPostConstructMethods() {
+        MethodHandle[] handles = asyncPostConstructMethods;
+        if (handles == null) {
+            try {
+                handles = CompiledBeanFactory.callbacks(
+                        InjectionPlan.of(factory.getType()).getAsyncPostConstructMethods(), MethodHandles.lookup());
+            } catch (IllegalAccessException e) {
+                throw new BeanResolutionException("Cannot access the @PostConstruct methods of "
+                        + factory.getType().getName(), e);
+            }
+            asyncPostConstructMethods = handles;
+        }
+        return handles;
+    }
+}
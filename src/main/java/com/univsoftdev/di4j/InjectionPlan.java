@@ -0,0 +1,283 @@
+package com.univsoftdev.di4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.univsoftdev.di4j.annotations.Inject;
+import com.univsoftdev.di4j.annotations.PoolReset;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+import com.univsoftdev.di4j.annotations.PreDestroy;
+import com.univsoftdev.di4j.annotations.Value;
+import com.univsoftdev.di4j.exceptions.BeanResolutionException;
+
+/**
+ * The immutable injection metadata of a class: the constructor used for
+ * injection, the injected fields and methods, and the lifecycle callbacks,
+ * including members inherited from superclasses.
+ * <p>
+ * Plans hold no reference to an {@link Injector}. They are computed once per
+ * class and shared by every injector in the JVM through a {@link ClassValue}.
+ */
+final class InjectionPlan {
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final List<InjectionPoint> constructorParameters;
+    private final List<Field> fields;
+    private final List<InjectionPoint> fieldPoints;
+    private final List<Method> methods;
+    private final List<List<InjectionPoint>> methodParameters;
+    private final List<Method> postConstructMethods;
+    private final List<Method> asyncPostConstructMethods;
+    private final List<Method> preDestroyMethods;
+    private final List<Method> poolResetMethods;
+
+    private InjectionPlan(Class<?> type) {
+        this.type = type;
+        this.constructor = selectConstructor(type);
+        this.constructorParameters = constructor != null
+                ? parameterPoints(constructor.getParameters())
+                : Collections.emptyList();
+
+        List<Class<?>> hierarchy = hierarchy(type);
+        List<Field> injectedFields = new ArrayList<>();
+        List<InjectionPoint> points = new ArrayList<>();
+        for (Class<?> declaringClass : hierarchy) {
+            for (Field field : declaringClass.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class) || field.isAnnotationPresent(Value.class)) {
+                    field.trySetAccessible();
+                    injectedFields.add(field);
+                    points.add(InjectionPoint.of(field.getName(), field.getType(), field.getGenericType(), field));
+                }
+            }
+        }
+        this.fields = Collections.unmodifiableList(injectedFields);
+        this.fieldPoints = Collections.unmodifiableList(points);
+
+        List<Method> injectedMethods = new ArrayList<>();
+        List<List<InjectionPoint>> parameters = new ArrayList<>();
+        List<Method> postConstruct = new ArrayList<>();
+        List<Method> asyncPostConstruct = new ArrayList<>();
+        List<Method> preDestroy = new ArrayList<>();
+        List<Method> poolReset = new ArrayList<>();
+        for (Method method : effectiveMethods(hierarchy)) {
+            if (method.isAnnotationPresent(Inject.class) || method.isAnnotationPresent(Value.class)) {
+                method.trySetAccessible();
+                injectedMethods.add(method);
+                parameters.add(methodParameterPoints(method.getParameters()));
+            }
+            PostConstruct callback = method.getAnnotation(PostConstruct.class);
+            if (callback != null) {
+                method.trySetAccessible();
+                (callback.async() ? asyncPostConstruct : postConstruct).add(method);
+            }
+            if (method.isAnnotationPresent(PreDestroy.class)) {
+                method.trySetAccessible();
+                preDestroy.add(method);
+            }
+            if (method.isAnnotationPresent(PoolReset.class)) {
+                method.trySetAccessible();
+                poolReset.add(method);
+            }
+        }
+        // Destroy callbacks run from the most specific class up
+        Collections.reverse(preDestroy);
+        this.methods = Collections.unmodifiableList(injectedMethods);
+        this.methodParameters = Collections.unmodifiableList(parameters);
+        this.postConstructMethods = Collections.unmodifiableList(postConstruct);
+        this.asyncPostConstructMethods = Collections.unmodifiableList(asyncPostConstruct);
+        this.preDestroyMethods = Collections.unmodifiableList(preDestroy);
+        this.poolResetMethods = Collections.unmodifiableList(poolReset);
+    }
+
+    /**
+     * Returns the plan of a class, computing it on first access.
+     *
+     * @param type The class to inspect.
+     * @return The shared injection plan.
+     */
+    static InjectionPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the constructor annotated with @Inject, or else the one with the
+     * most parameters.
+     *
+     * @return The injectable constructor.
+     * @throws BeanResolutionException If the class declares no constructor.
+     */
+    Constructor<?> getConstructor() {
+        if (constructor == null) {
+            throw new BeanResolutionException("No suitable constructor found for " + type.getName());
+        }
+        return constructor;
+    }
+
+    List<InjectionPoint> getConstructorParameters() {
+        return constructorParameters;
+    }
+
+    /**
+     * Returns the fields annotated with @Inject or @Value, superclass fields
+     * first.
+     */
+    List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the injection points of {@link #getFields()}, in the same order.
+     */
+    List<InjectionPoint> getFieldPoints() {
+        return fieldPoints;
+    }
+
+    List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns the parameter injection points of each method in
+     * {@link #getMethods()}, in the same order.
+     */
+    List<List<InjectionPoint>> getMethodParameters() {
+        return methodParameters;
+    }
+
+    /**
+     * Returns the synchronous @PostConstruct methods, superclass methods
+     * first.
+     */
+    List<Method> getPostConstructMethods() {
+        return postConstructMethods;
+    }
+
+    /**
+     * Returns the @PostConstruct(async = true) methods, superclass methods
+     * first.
+     */
+    List<Method> getAsyncPostConstructMethods() {
+        return asyncPostConstructMethods;
+    }
+
+    /**
+     * Returns the @PreDestroy methods, subclass methods first.
+     */
+    List<Method> getPreDestroyMethods() {
+        return preDestroyMethods;
+    }
+
+    /**
+     * Returns the @PoolReset methods, superclass methods first.
+     */
+    List<Method> getPoolResetMethods() {
+        return poolResetMethods;
+    }
+
+    private static Constructor<?> selectConstructor(Class<?> type) {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        Constructor<?> selected = null;
+        for (Constructor<?> candidate : constructors) {
+            if (candidate.isAnnotationPresent(Inject.class)) {
+                selected = candidate;
+                break;
+            }
+            if (selected == null || candidate.getParameterCount() > selected.getParameterCount()) {
+                selected = candidate;
+            }
+        }
+        if (selected != null) {
+            selected.trySetAccessible();
+        }
+        return selected;
+    }
+
+    private static List<InjectionPoint> parameterPoints(Parameter[] parameters) {
+        InjectionPoint[] points = new InjectionPoint[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter param = parameters[i];
+            points[i] = InjectionPoint.of(param.getName(), param.getType(), param.getParameterizedType(), param);
+        }
+        return List.of(points);
+    }
+
+    /**
+     * Returns the injection points of the parameters of an injected method.
+     * Unlike constructor parameters, each needs @Inject or @Value.
+     */
+    private static List<InjectionPoint> methodParameterPoints(Parameter[] parameters) {
+        InjectionPoint[] points = new InjectionPoint[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter param = parameters[i];
+            points[i] = param.isAnnotationPresent(Inject.class) || param.isAnnotationPresent(Value.class)
+                    ? InjectionPoint.of(param.getName(), param.getType(), param.getParameterizedType(), param)
+                    : InjectionPoint.unannotated(param.getName(), param.getType());
+        }
+        return List.of(points);
+    }
+
+    /**
+     * Returns the class and its superclasses, excluding Object, from the top
+     * of the hierarchy down.
+     */
+    private static List<Class<?>> hierarchy(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(current);
+        }
+        Collections.reverse(hierarchy);
+        return hierarchy;
+    }
+
+    /**
+     * Returns the declared methods of the hierarchy from the top down,
+     * skipping superclass methods that a subclass overrides.
+     */
+    private static List<Method> effectiveMethods(List<Class<?>> hierarchy) {
+        Set<String> overridden = new HashSet<>();
+        List<List<Method>> perClass = new ArrayList<>();
+        for (int i = hierarchy.size() - 1; i >= 0; i--) {
+            List<Method> kept = new ArrayList<>();
+            for (Method method : hierarchy.get(i).getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                boolean isPrivate = Modifier.isPrivate(method.getModifiers());
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                if (!isPrivate && overridden.contains(signature)) {
+                    continue;
+                }
+                kept.add(method);
+                if (!isPrivate && !Modifier.isStatic(method.getModifiers())) {
+                    overridden.add(signature);
+                }
+            }
+            perClass.add(kept);
+        }
+        Collections.reverse(perClass);
+        List<Method> methods = new ArrayList<>();
+        perClass.forEach(methods::addAll);
+        return methods;
+    }
+}
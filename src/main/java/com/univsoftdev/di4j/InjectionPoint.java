@@ -0,0 +1,160 @@
+package com.univsoftdev.di4j;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.univsoftdev.di4j.annotations.Qualifier;
+import com.univsoftdev.di4j.annotations.Value;
+
+/**
+ * A single constructor parameter, field or method parameter that receives a
+ * dependency or a property value. Injection points are derived once from the
+ * annotations of the member and are immutable.
+ */
+final class InjectionPoint {
+
+    /**
+     * How the value of an injection point is produced.
+     */
+    enum Kind {
+        /**
+         * A bean resolved by type and optional qualifier.
+         */
+        BEAN,
+        /**
+         * A {@link Lazy} wrapper around a bean.
+         */
+        LAZY,
+        /**
+         * A proxy resolving a bean on its first call, for a member annotated
+         * with @Lazy.
+         */
+        PROXY,
+        /**
+         * A {@link Supplier} resolving a bean on every call.
+         */
+        SUPPLIER,
+        /**
+         * A {@link CompletableFuture} completing with a fully initialized
+         * bean.
+         */
+        FUTURE,
+        /**
+         * A property value converted to the declared type.
+         */
+        VALUE,
+        /**
+         * A method parameter annotated with neither @Inject nor @Value,
+         * which cannot be injected.
+         */
+        UNANNOTATED
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final Class<?> type;
+    private final Class<?> target;
+    private final String qualifier;
+    private final String valueKey;
+
+    private InjectionPoint(Kind kind, String name, Class<?> type, Class<?> target, String qualifier, String valueKey) {
+        this.kind = kind;
+        this.name = name;
+        this.type = type;
+        this.target = target;
+        this.qualifier = qualifier;
+        this.valueKey = valueKey;
+    }
+
+    /**
+     * Creates the injection point for a constructor or method parameter, or a
+     * field.
+     *
+     * @param name The member name, used in error messages.
+     * @param type The declared raw type.
+     * @param genericType The declared generic type.
+     * @param element The annotated member.
+     * @return The injection point.
+     */
+    static InjectionPoint of(String name, Class<?> type, Type genericType, AnnotatedElement element) {
+        Value value = element.getAnnotation(Value.class);
+        if (value != null) {
+            String key = value.value().replace("${", "").replace("}", "");
+            return new InjectionPoint(Kind.VALUE, name, type, type, null, key);
+        }
+
+        Qualifier qualifier = element.getAnnotation(Qualifier.class);
+        String qualifierValue = qualifier != null ? qualifier.value() : null;
+        if (type.equals(Lazy.class)) {
+            return new InjectionPoint(Kind.LAZY, name, type, typeArgument(genericType), qualifierValue, null);
+        }
+        if (type.equals(Supplier.class) && genericType instanceof ParameterizedType) {
+            return new InjectionPoint(Kind.SUPPLIER, name, type, typeArgument(genericType), qualifierValue, null);
+        }
+        if (type.equals(CompletableFuture.class)) {
+            return new InjectionPoint(Kind.FUTURE, name, type, typeArgument(genericType), qualifierValue, null);
+        }
+        if (element.isAnnotationPresent(com.univsoftdev.di4j.annotations.Lazy.class)) {
+            return new InjectionPoint(Kind.PROXY, name, type, type, qualifierValue, null);
+        }
+        return new InjectionPoint(Kind.BEAN, name, type, type, qualifierValue, null);
+    }
+
+    /**
+     * Creates the injection point for a parameter of an injected method that
+     * has no injection annotation. Resolving it fails.
+     *
+     * @param name The parameter name, used in error messages.
+     * @param type The declared raw type.
+     * @return The injection point.
+     */
+    static InjectionPoint unannotated(String name, Class<?> type) {
+        return new InjectionPoint(Kind.UNANNOTATED, name, type, type, null, null);
+    }
+
+    private static Class<?> typeArgument(Type genericType) {
+        if (genericType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> argument) {
+            return argument;
+        }
+        return null;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the declared raw type of the member.
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the bean type the point resolves: the type argument for Lazy,
+     * Supplier and CompletableFuture points, the declared type otherwise. May
+     * be null for a raw Lazy or CompletableFuture.
+     */
+    Class<?> getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the explicit @Qualifier value, or null if none was declared.
+     */
+    String getQualifier() {
+        return qualifier;
+    }
+
+    String getValueKey() {
+        return valueKey;
+    }
+}
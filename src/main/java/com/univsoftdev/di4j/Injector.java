@@ -3,44 +3,53 @@ package com.univsoftdev.di4j;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Properties;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import com.univsoftdev.di4j.annotations.Component;
-import com.univsoftdev.di4j.annotations.Inject;
-import com.univsoftdev.di4j.annotations.PostConstruct;
-import com.univsoftdev.di4j.annotations.PreDestroy;
 import com.univsoftdev.di4j.annotations.Primary;
 import com.univsoftdev.di4j.annotations.Qualifier;
 import com.univsoftdev.di4j.annotations.Scope;
-import com.univsoftdev.di4j.annotations.Value;
 import com.univsoftdev.di4j.exceptions.BeanCreationException;
 import com.univsoftdev.di4j.exceptions.BeanResolutionException;
 import com.univsoftdev.di4j.exceptions.BeanValidationException;
+import com.univsoftdev.di4j.exceptions.CircularDependencyException;
+import com.univsoftdev.di4j.jfr.BeanCreationEvent;
+import com.univsoftdev.di4j.jfr.BeanLookupEvent;
+import com.univsoftdev.di4j.jfr.LifecycleCallbackEvent;
+import com.univsoftdev.di4j.jfr.PostProcessorEvent;
 
 /**
  * The Injector class is responsible for managing dependency injection. It
@@ -50,10 +59,18 @@ public class Injector {
 
     private static final Logger LOGGER = Logger.getLogger(Injector.class.getName());
     /**
-     * A thread-local stack used to track bean resolution to prevent circular
-     * dependencies.
+     * The registry generation, incremented whenever a definition is added or
+     * the singletons are destroyed. Definitions checked for dependency cycles
+     * in the current generation need no runtime cycle tracking, and
+     * {@link BeanHandle}s bound in it are still valid.
      */
-    private final ThreadLocal<Deque<BeanKey>> resolutionStack = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile int generation;
+
+    /**
+     * The immutable registry used once the injector is frozen, or null while
+     * it still accepts registrations.
+     */
+    private volatile FrozenRegistry frozenRegistry;
 
     /**
      * A map storing bean definitions, indexed by their keys.
@@ -66,9 +83,39 @@ public class Injector {
     private final Map<BeanKey, Object> singletons = new ConcurrentHashMap<>();
 
     /**
-     * A set tracking initialized beans to avoid redundant initialization.
+     * Per-key locks guarding the one-time creation of a singleton. An entry
+     * only exists while its singleton is being created. They are
+     * {@link ReentrantLock}s rather than monitors, so that a virtual thread
+     * waiting for a slow constructor unmounts from its carrier thread
+     * instead of pinning it.
+     */
+    private final Map<BeanKey, ReentrantLock> singletonLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Guards {@link #freeze()}.
+     */
+    private final ReentrantLock freezeLock = new ReentrantLock();
+
+    /**
+     * The asynchronous @PostConstruct methods still running, by bean
+     * instance compared by identity, so that equal beans are told apart. A
+     * bean leaves the map when they complete, successfully or not.
+     */
+    private final Map<InstanceKey, AsyncInitialization> initializations = new ConcurrentHashMap<>();
+
+    /**
+     * The asynchronous initializations started by the current thread while
+     * {@link #resolveAsync(Class, String)} creates a bean, so that the
+     * future of the bean sees a failure even if the bean was unlisted
+     * before it could be looked up.
      */
-    private final Set<Object> initializedBeans = new HashSet<>();
+    private final ThreadLocal<Map<InstanceKey, AsyncInitialization>> startedInitializations = new ThreadLocal<>();
+
+    /**
+     * The executor of asynchronous initialization, created on first use when
+     * the configuration provides no initialization executor.
+     */
+    private final AtomicReference<ExecutorService> ownedExecutor = new AtomicReference<>();
 
     /**
      * A set of component classes managed by the injector.
@@ -81,9 +128,68 @@ public class Injector {
     private final Configuration configuration;
 
     /**
-     * A map storing lists of bean definitions for interface implementations.
+     * An index from every supertype of a registered bean (its superclasses,
+     * all transitively implemented interfaces and the bean class itself) to
+     * the bean definitions assignable to it.
+     */
+    private final Map<Class<?>, List<BeanDefinition>> typeIndex = new HashMap<>();
+
+    /**
+     * An index from a supertype and qualifier pair to the bean definitions
+     * assignable to that type and registered under that qualifier.
+     */
+    private final Map<BeanKey, List<BeanDefinition>> qualifiedIndex = new HashMap<>();
+
+    /**
+     * A cache from a type passed to {@link #resolve(Class)} to the bean
+     * definition chosen for it. Cleared whenever a definition is added.
+     */
+    private final Map<Class<?>, BeanDefinition> resolutionCache = new ConcurrentHashMap<>();
+
+    /**
+     * The factories generated at compile time by the di4j annotation
+     * processor, indexed by component class.
+     */
+    private final Map<Class<?>, ComponentFactory<?>> generatedFactories = new HashMap<>();
+
+    /**
+     * Records startup phases and bean creation costs, or null if startup
+     * profiling is disabled.
+     */
+    private final StartupRecorder recorder;
+
+    /**
+     * Counts resolutions and measures Lazy and post-processor latency, or
+     * null if metrics are disabled.
+     */
+    private final InjectorMetrics metrics;
+
+    /**
+     * The built-in thread scope.
+     */
+    private final ThreadScope threadScope = new ThreadScope();
+
+    /**
+     * The built-in request scope.
+     */
+    private final RequestScope requestScope = new RequestScope();
+
+    /**
+     * The built-in pool scope.
+     */
+    private final PoolScope poolScope = new PoolScope();
+
+    /**
+     * The scopes other than singleton and prototype, indexed by name.
+     */
+    private final Map<String, BeanScope> scopes = new ConcurrentHashMap<>(
+            Map.of(ThreadScope.NAME, threadScope, RequestScope.NAME, requestScope, PoolScope.NAME, poolScope));
+
+    /**
+     * The number of beans registered in each scope, from which the next bean
+     * of a scope takes its slot.
      */
-    private final Map<Class<?>, List<BeanDefinition>> interfaceImplementations = new HashMap<>();
+    private final Map<String, Integer> scopeSlots = new HashMap<>();
 
     /**
      * A list of post-processors applied to beans after initialization.
@@ -121,21 +227,53 @@ public class Injector {
     /**
      * Constructs an Injector with the specified configuration. It scans for
      * components, registers them, validates beans, and initializes non-lazy
-     * singletons.
+     * singletons. Components listed by a generated {@link ComponentRegistry}
+     * are registered from the registry; the base packages are still scanned
+     * for the components of other compilations, skipping classes that
+     * already have a generated factory.
+     * <p>
+     * If the configuration names a startup cache file whose fingerprint
+     * matches the classpath, the scanned definitions, their dependency edges
+     * and the validation result are taken from the file and scanning and
+     * validation are skipped. Otherwise the packages are scanned and the
+     * file is rewritten.
      *
      * @param config The configuration settings for the injector.
      */
     public Injector(Configuration config) {
         this.configuration = config;
         this.componentClasses = new HashSet<>();
+        this.recorder = config.isStartupProfiling() ? new StartupRecorder() : null;
+        this.metrics = config.isMetricsEnabled() ? InjectorMetrics.register(config.getMetricsName()) : null;
+        long phaseStart = System.nanoTime();
+        List<ComponentRegistry> registries = loadRegistries();
+        Set<Class<?>> scannedClasses = new HashSet<>();
+        String fingerprint = null;
+        StartupCache cache = null;
 
         // Scan for components if auto-detection is enabled
         if (configuration.isAutoDetectComponents()) {
-            for (String basePackage : configuration.getBasePackages()) {
-                componentClasses.addAll(ClassScanner.scanForComponents(basePackage));
+            String[] basePackages = configuration.getBasePackages();
+            for (String basePackage : basePackages) {
+                registerGenerated(registries, basePackage);
+            }
+            // A registry only lists its own compilation, so the packages are
+            // still scanned for components compiled elsewhere
+            fingerprint = startupFingerprint();
+            cache = readStartupCache(fingerprint);
+            if (cache == null) {
+                for (Class<?> type : ClassScanner.scanForComponents(basePackages,
+                        configuration.getScanMode(), configuration.getScanParallelism())) {
+                    if (!generatedFactories.containsKey(type)) {
+                        scannedClasses.add(type);
+                    }
+                }
+                componentClasses.addAll(scannedClasses);
             }
         }
 
+        phaseStart = recordPhase("scan", phaseStart);
+
         // Register all detected components without creating instances
         for (Class<?> componentClass : componentClasses) {
             try {
@@ -145,15 +283,266 @@ public class Injector {
             }
         }
 
-        // Validate bean definitions to ensure correctness
-        try {
-            validateBeans();
-        } catch (BeanValidationException ex) {
+        DependencyGraph graph = cache != null ? registerCached(cache) : null;
+        phaseStart = recordPhase("register", phaseStart);
+
+        // Build the dependency graph once and validate every bean against it
+        if (graph == null) {
+            graph = buildDependencyGraph();
+            if (fingerprint != null) {
+                writeStartupCache(fingerprint, scannedClasses, graph);
+            }
+        }
+        if (!graph.isValid()) {
+            BeanValidationException ex = new BeanValidationException("Bean validation failed:\n"
+                    + String.join("\n", graph.getProblems()));
+            if (configuration.isFailOnValidationError()) {
+                throw new BeanResolutionException(ex.getMessage(), ex);
+            }
             Logger.getLogger(Injector.class.getName()).log(Level.SEVERE, null, ex);
         }
+        phaseStart = recordPhase("validate", phaseStart);
 
         // Initialize singleton beans that are not marked as lazy
-        initializeNonLazySingletons();
+        initializeNonLazySingletons(graph);
+        recordPhase("initialize", phaseStart);
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    /**
+     * Records a startup phase that ends now, if profiling is enabled.
+     *
+     * @param name The phase name.
+     * @param start The {@link System#nanoTime()} the phase started at.
+     * @return The start of the next phase.
+     */
+    private long recordPhase(String name, long start) {
+        if (recorder == null) {
+            return start;
+        }
+        recorder.phase(name, start);
+        return System.nanoTime();
+    }
+
+    /**
+     * Returns the startup profile of this injector: the duration of each
+     * constructor phase and the cost of every bean created by the
+     * constructor. Beans created afterwards are not recorded.
+     *
+     * @return The report, or null if startup profiling is disabled.
+     */
+    public StartupReport getStartupReport() {
+        return recorder != null ? recorder.report() : null;
+    }
+
+    /**
+     * Returns a snapshot of the runtime metrics of this injector: resolve
+     * calls by type, singleton cache hits, prototype instantiations by bean
+     * and the latency of first Lazy resolutions and of post-processors.
+     *
+     * @return The snapshot, or null if metrics are disabled.
+     */
+    public InjectorStats stats() {
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    /**
+     * Records how long the first {@link Lazy#get()} of a Lazy reference took
+     * to resolve its bean, if metrics are enabled.
+     *
+     * @param nanos The resolution time in nanoseconds.
+     */
+    void recordLazyResolution(long nanos) {
+        if (metrics != null) {
+            metrics.lazyResolved(nanos);
+        }
+    }
+
+    /**
+     * Computes the classpath fingerprint the startup cache is keyed by.
+     *
+     * @return The fingerprint, or null if no startup cache is configured or
+     * the classpath cannot be inspected.
+     */
+    private String startupFingerprint() {
+        if (configuration.getStartupCacheFile() == null) {
+            return null;
+        }
+        try {
+            return StartupCache.fingerprint(Thread.currentThread().getContextClassLoader(),
+                    configuration.getBasePackages(), configuration.isLazyInit());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot fingerprint the classpath, the startup cache is not used", e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the startup cache written for a classpath fingerprint.
+     *
+     * @param fingerprint The current fingerprint, or null.
+     * @return The cache, or null if there is none for the fingerprint.
+     */
+    private StartupCache readStartupCache(String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        Path file = configuration.getStartupCacheFile();
+        try {
+            StartupCache cache = StartupCache.read(file, fingerprint);
+            if (cache != null) {
+                // Fail over to a full scan if a cached class has disappeared
+                for (StartupCache.Bean bean : cache.getBeans()) {
+                    loadCachedClass(bean.getClassName());
+                }
+            }
+            return cache;
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.WARNING, "Ignoring unusable startup cache " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Registers the definitions recorded in a startup cache and rebuilds the
+     * dependency graph from the recorded edges and problems.
+     *
+     * @param cache The startup cache.
+     * @return The dependency graph of all definitions.
+     */
+    private DependencyGraph registerCached(StartupCache cache) {
+        try {
+            for (StartupCache.Bean bean : cache.getBeans()) {
+                Class<?> type = loadCachedClass(bean.getClassName());
+                BeanKey key = new BeanKey(type, bean.getQualifier());
+                componentClasses.add(type);
+                if (!beanDefinitions.containsKey(key)) {
+                    BeanDefinition definition = new BeanDefinition(type, bean.getQualifier(),
+                            bean.isSingleton(), bean.isPrimary());
+                    definition.setLazy(bean.isLazy());
+                    addDefinition(key, definition);
+                }
+            }
+
+            DependencyGraph graph = new DependencyGraph();
+            beanDefinitions.values().forEach(graph::addNode);
+            for (StartupCache.Edge edge : cache.getEdges()) {
+                BeanDefinition definition = beanDefinitions.get(
+                        new BeanKey(loadCachedClass(edge.getClassName()), edge.getQualifier()));
+                BeanDefinition dependency = beanDefinitions.get(
+                        new BeanKey(loadCachedClass(edge.getDependencyClassName()), edge.getDependencyQualifier()));
+                if (definition != null && dependency != null) {
+                    graph.addDependency(definition, dependency);
+                }
+            }
+            if (cache.getValidationError() != null) {
+                cache.getValidationError().lines().forEach(graph::addProblem);
+            }
+            return graph;
+        } catch (ClassNotFoundException e) {
+            throw new BeanResolutionException("Stale startup cache " + configuration.getStartupCacheFile(), e);
+        }
+    }
+
+    private static Class<?> loadCachedClass(String className) throws ClassNotFoundException {
+        return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Writes the scanned definitions, the dependency graph and its problems
+     * to the startup cache. Failing to write the cache does not fail startup.
+     *
+     * @param fingerprint The classpath fingerprint.
+     * @param scannedClasses The component classes found by scanning.
+     * @param graph The dependency graph of all definitions.
+     */
+    private void writeStartupCache(String fingerprint, Set<Class<?>> scannedClasses, DependencyGraph graph) {
+        Path file = configuration.getStartupCacheFile();
+        try {
+            List<StartupCache.Bean> beans = new ArrayList<>();
+            for (Class<?> type : scannedClasses) {
+                BeanDefinition definition = beanDefinitions.get(new BeanKey(type, determineQualifier(type)));
+                if (definition != null) {
+                    beans.add(new StartupCache.Bean(type.getName(), definition.getQualifier(),
+                            definition.isSingleton(), definition.isLazy(), definition.isPrimary()));
+                }
+            }
+            List<StartupCache.Edge> edges = new ArrayList<>();
+            for (BeanDefinition definition : graph.getNodes()) {
+                for (BeanDefinition dependency : graph.dependenciesOf(definition)) {
+                    edges.add(new StartupCache.Edge(definition.getType().getName(), definition.getQualifier(),
+                            dependency.getType().getName(), dependency.getQualifier()));
+                }
+            }
+            String validationError = graph.isValid() ? null : String.join("\n", graph.getProblems());
+            new StartupCache(fingerprint, validationError, beans, edges).write(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the startup cache " + file, e);
+        }
+    }
+
+    /**
+     * Loads the component registries generated by the di4j annotation
+     * processor and indexes their factories by component class.
+     *
+     * @return The registries found on the classpath.
+     */
+    private List<ComponentRegistry> loadRegistries() {
+        List<ComponentRegistry> registries = new ArrayList<>();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (ComponentRegistry registry : ServiceLoader.load(ComponentRegistry.class, classLoader)) {
+            registries.add(registry);
+            for (ComponentFactory<?> factory : registry.getFactories()) {
+                generatedFactories.put(factory.getType(), factory);
+            }
+        }
+        return registries;
+    }
+
+    /**
+     * Registers the components a generated registry lists inside a base
+     * package, using the metadata recorded by the annotation processor.
+     *
+     * @param registries The generated registries.
+     * @param basePackage The base package to register.
+     */
+    private void registerGenerated(List<ComponentRegistry> registries, String basePackage) {
+        for (ComponentRegistry registry : registries) {
+            for (ComponentFactory<?> factory : registry.getFactories()) {
+                if (isInPackage(factory.getType(), basePackage)) {
+                    registerFactory(factory);
+                }
+            }
+            for (Class<?> type : registry.getReflectiveComponents()) {
+                if (isInPackage(type, basePackage)) {
+                    componentClasses.add(type);
+                }
+            }
+        }
+    }
+
+    private static boolean isInPackage(Class<?> type, String basePackage) {
+        String packageName = type.getPackageName();
+        return packageName.equals(basePackage) || packageName.startsWith(basePackage + ".");
+    }
+
+    /**
+     * Registers a component from its generated factory without reading its
+     * annotations.
+     *
+     * @param factory The generated factory.
+     */
+    private void registerFactory(ComponentFactory<?> factory) {
+        BeanKey key = new BeanKey(factory.getType(), factory.getQualifier());
+        if (!beanDefinitions.containsKey(key)) {
+            BeanDefinition definition = new BeanDefinition(factory.getType(), factory.getQualifier(),
+                    factory.isSingleton(), factory.isPrimary());
+            definition.setLazy(factory.isLazy() || configuration.isLazyInit());
+            definition.setFactory(new GeneratedBeanFactory<>(this, factory));
+            addDefinition(key, definition);
+        }
     }
 
     /**
@@ -188,12 +577,19 @@ public class Injector {
     public Injector(Module... module) {
         this.configuration = new Configuration();
         this.componentClasses = new HashSet<>();
+        this.recorder = null;
+        this.metrics = null;
+        Binder binder = new Binder();
         for (Module mod : module) {
-            mod.configure();
+            if (mod instanceof AbstractModule abstractModule) {
+                abstractModule.configure();
+                bindings.putAll(abstractModule.getBindings());
+                instances.putAll(abstractModule.getInstances());
+                providers.putAll(abstractModule.getProviders());
+            }
+            mod.configure(binder);
         }
-        bindings.putAll(mod.getBindings());
-        instances.putAll(mod.getInstances());
-        providers.putAll(mod.getProviders());
+        bindings.putAll(binder.getBindings());
     }
 
     /**
@@ -255,7 +651,7 @@ public class Injector {
 
     /**
      * Registers a component class by creating a bean definition and storing it.
-     * It also associates the class with its implemented interfaces.
+     * It also indexes the definition under all of its supertypes.
      *
      * @param <T> The type of the component.
      * @param type The class type of the component to register.
@@ -271,14 +667,62 @@ public class Injector {
         if (!beanDefinitions.containsKey(key)) {
             BeanDefinition definition = new BeanDefinition(type, qualifier, isSingleton, isPrimary);
             definition.setLazy(isLazy);
-            beanDefinitions.put(key, definition);
+            addDefinition(key, definition);
+        }
+    }
+
+    /**
+     * Stores a bean definition and indexes it by every supertype, alone and
+     * combined with the definition's qualifier, so that unqualified and
+     * qualified lookups are single hash probes.
+     *
+     * @param key The key representing the bean.
+     * @param definition The bean definition.
+     */
+    private void addDefinition(BeanKey key, BeanDefinition definition) {
+        ensureNotFrozen();
+        if (!definition.isSingleton()) {
+            String scope = scopeNameOf(definition.getType());
+            if (scope != null) {
+                definition.setScope(scope, scopeSlots.merge(scope, 1, Integer::sum) - 1);
+            }
+        }
+        beanDefinitions.put(key, definition);
+        resolutionCache.clear();
+        generation++;
+        for (Class<?> supertype : supertypes(definition.getType())) {
+            typeIndex.computeIfAbsent(supertype, k -> new ArrayList<>()).add(definition);
+            qualifiedIndex.computeIfAbsent(new BeanKey(supertype, definition.getQualifier()), k -> new ArrayList<>())
+                    .add(definition);
+        }
+    }
 
-            // Register the component as an implementation of its interfaces
-            for (Class<?> interfaceType : type.getInterfaces()) {
-                interfaceImplementations.computeIfAbsent(interfaceType, k -> new ArrayList<>())
-                        .add(definition);
+    /**
+     * Collects the supertype closure of a class: the class itself, all of its
+     * superclasses and every interface they implement, transitively.
+     *
+     * @param type The class to inspect.
+     * @return The set of types the class is assignable to.
+     */
+    private static Set<Class<?>> supertypes(Class<?> type) {
+        Set<Class<?>> supertypes = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.push(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.pop();
+            if (supertypes.add(current)) {
+                if (current.getSuperclass() != null) {
+                    pending.push(current.getSuperclass());
+                }
+                for (Class<?> interfaceType : current.getInterfaces()) {
+                    pending.push(interfaceType);
+                }
             }
         }
+        if (type.isInterface()) {
+            supertypes.add(Object.class);
+        }
+        return supertypes;
     }
 
     /**
@@ -306,6 +750,7 @@ public class Injector {
      * singleton.
      */
     public <T> void registerSupplier(Class<T> type, Supplier<T> supplier, boolean isSingleton) {
+        ensureNotFrozen();
         String qualifier = determineQualifier(type);
         BeanKey key = new BeanKey(type, qualifier);
 
@@ -319,7 +764,7 @@ public class Injector {
             );
             definition.setLazy(type.isAnnotationPresent(com.univsoftdev.di4j.annotations.Lazy.class) || configuration.isLazyInit());
             definition.setSupplier(supplier);
-            beanDefinitions.put(key, definition);
+            addDefinition(key, definition);
 
             // Immediately create and store singleton if not lazy
             if (isSingleton && !definition.isLazy()) {
@@ -334,26 +779,101 @@ public class Injector {
      * @param postProcessor The bean post-processor to add.
      */
     public void addPostProcessor(BeanPostProcessor postProcessor) {
+        ensureNotFrozen();
         postProcessors.add(postProcessor);
     }
 
     /**
-     * Resolves a property value and converts it to the appropriate type based
-     * on the field.
+     * Freezes the injector for the steady state. All bean definitions are
+     * compiled into an immutable registry: each bean gets a dense integer id,
+     * singletons are kept in a flat array and {@link #resolve(Class)} maps a
+     * type to its bean id through a {@link ClassValue}. Factories are compiled
+     * eagerly. Any later attempt to register beans or post-processors fails
+     * with an {@link IllegalStateException}.
+     */
+    public void freeze() {
+        freezeLock.lock();
+        try {
+            if (frozenRegistry != null) {
+                return;
+            }
+
+            BeanDefinition[] definitions = beanDefinitions.values().toArray(BeanDefinition[]::new);
+            for (int id = 0; id < definitions.length; id++) {
+                definitions[id].setId(id);
+                if (definitions[id].getSupplier() == null) {
+                    getFactory(definitions[id]);
+                }
+            }
+
+            Map<Class<?>, Integer> resolvedIds = new HashMap<>();
+            for (Class<?> type : typeIndex.keySet()) {
+                try {
+                    resolvedIds.put(type, findDefinition(type).getId());
+                } catch (RuntimeException e) {
+                    // Ambiguous types keep the regular lookup, which reports the error
+                }
+            }
+
+            FrozenRegistry registry = new FrozenRegistry(definitions, resolvedIds);
+            frozenRegistry = registry;
+            for (BeanDefinition definition : definitions) {
+                Object instance = singletons.get(definition.getKey());
+                if (instance != null) {
+                    registry.publish(definition.getId(), instance);
+                }
+            }
+        } finally {
+            freezeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether {@link #freeze()} has been called.
+     *
+     * @return True if the injector is frozen.
+     */
+    public boolean isFrozen() {
+        return frozenRegistry != null;
+    }
+
+    private void ensureNotFrozen() {
+        if (frozenRegistry != null) {
+            throw new IllegalStateException("The injector is frozen and no longer accepts registrations");
+        }
+    }
+
+    /**
+     * Looks up a property and converts it to the requested type. Supported
+     * types are String, int, boolean, long and double and their wrappers.
+     *
+     * @param <T> The type of the value.
+     * @param key The property key to look up.
+     * @param type The type the value is converted to.
+     * @return The converted value.
+     * @throws RuntimeException If the property is not found or the type is
+     * unsupported.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getProperty(String key, Class<T> type) {
+        return (T) resolveProperty(key, type);
+    }
+
+    /**
+     * Looks up a property and converts it to the requested type.
      *
-     * @param field The field requiring a value injection.
      * @param key The property key to look up.
+     * @param type The type the value is converted to.
      * @return The resolved and converted value.
      * @throws RuntimeException If the property is not found or the type is
      * unsupported.
      */
-    private Object resolveValue(Field field, String key) {
+    Object resolveProperty(String key, Class<?> type) {
         String value = properties.getProperty(key);
         if (value == null) {
             throw new RuntimeException("Property not found: " + key);
         }
 
-        Class<?> type = field.getType();
         if (type == String.class) {
             return value;
         }
@@ -381,6 +901,7 @@ public class Injector {
      * @Component.
      */
     public <T> void register(Class<T> type) {
+        ensureNotFrozen();
         Component component = type.getAnnotation(Component.class);
         if (component == null) {
             throw new IllegalArgumentException("Class must be annotated with @Component: " + type.getName());
@@ -389,251 +910,339 @@ public class Injector {
     }
 
     /**
-     * Creates an instance of the specified class, resolving dependencies and
-     * injecting fields. It also detects circular dependencies and prevents
-     * infinite loops.
+     * Creates an instance of a bean definition, resolving dependencies and
+     * injecting fields. Circular dependencies are detected statically, once
+     * per registry generation, before the first instance is created; beans
+     * created by a supplier are additionally guarded by an in-flight marker.
+     * With startup profiling enabled, the cost of the creation is recorded;
+     * with Flight Recorder running, a {@link BeanCreationEvent} is emitted.
      *
-     * @param <T> The type of the instance to create.
-     * @param type The class type to instantiate.
-     * @return A fully initialized instance of the specified class.
+     * @param definition The bean definition to instantiate.
+     * @return A fully initialized instance of the bean.
      * @throws RuntimeException If a circular dependency is detected or instance
      * creation fails.
      */
-    private <T> T createInstance(Class<T> type) {
-        String qualifier = determineQualifier(type);
-        BeanKey key = new BeanKey(type, qualifier);
-        Deque<BeanKey> stack = resolutionStack.get();
+    private Object createInstance(BeanDefinition definition) {
+        BeanCreationEvent event = new BeanCreationEvent();
+        event.begin();
+        StartupRecorder recorder = this.recorder;
+        StartupRecorder.Frame frame = recorder != null ? recorder.enter() : null;
+        try {
+            return instantiate(definition);
+        } finally {
+            if (frame != null) {
+                recorder.exit(frame, definition);
+            }
+            if (event.shouldCommit()) {
+                event.beanType = definition.getType();
+                event.qualifier = definition.getQualifier();
+                event.scope = definition.isSingleton() ? ScopeType.SINGLETON.name()
+                        : definition.getScope() != null ? definition.getScope() : ScopeType.PROTOTYPE.name();
+                event.commit();
+            }
+        }
+    }
 
-        // Check for circular dependencies before proceeding
-        if (stack.contains(key)) {
-            List<BeanKey> pathList = new ArrayList<>(stack);
-            Collections.reverse(pathList); // Reverse order for better readability
-            pathList.add(key); // Add the current element at the end
-            String path = pathList.stream()
-                    .map(BeanKey::toString)
-                    .collect(Collectors.joining(" -> "));
-            throw new BeanResolutionException("Circular dependency detected:\n" + path);
+    /**
+     * Creates an instance of a bean definition, see
+     * {@link #createInstance(BeanDefinition)}.
+     *
+     * @param definition The bean definition to instantiate.
+     * @return A fully initialized instance of the bean.
+     */
+    private Object instantiate(BeanDefinition definition) {
+        if (definition.getCheckedGeneration() != generation) {
+            checkForCycles(definition);
+        }
+        if (definition.getSupplier() != null && definition.isCreating(Thread.currentThread())) {
+            throw new CircularDependencyException(definition.getKey());
         }
 
-        stack.push(key);
         try {
-            BeanDefinition definition = beanDefinitions.get(key);
-
             // If a supplier is registered, use it to create the instance
-            if (definition != null && definition.getSupplier() != null) {
-                return (T) definition.getSupplier().get();
-            }
-
-            // Normal instantiation using constructor
-            Constructor<T> constructor = findInjectableConstructor(type);
-            if (constructor == null) {
-                constructor = type.getDeclaredConstructor();
+            if (definition.getSupplier() != null) {
+                return createFromSupplier(definition);
             }
-            constructor.setAccessible(true);
 
-            Object[] parameters = getConstructorParameters(constructor);
-            T instance = constructor.newInstance(parameters);
-
-            // Inject fields and initialize the bean
-            injectFields(instance);
-            initializeBean(instance, type.getSimpleName());
+            // Normal instantiation through the definition's factory
+            BeanFactory factory = getFactory(definition);
+            Object instance = factory.create();
+            initializeBean(instance, definition.getType().getSimpleName(), factory);
 
             return instance;
 
-        } catch (IllegalAccessException | IllegalArgumentException | InstantiationException
-                | NoSuchMethodException | SecurityException | InvocationTargetException e) {
-            throw new BeanResolutionException("Error creating instance of " + type.getName(), e);
+        } catch (CircularDependencyException e) {
+            e.addDependent(definition.getKey());
+            throw e;
         } catch (BeanCreationException ex) {
             Logger.getLogger(Injector.class.getName()).log(Level.SEVERE, null, ex);
-        } finally {
-            stack.pop();
-            // Clean up the stack if empty to reuse the thread
-            if (stack.isEmpty()) {
-                resolutionStack.remove();
-            }
         }
         return null;
     }
 
     /**
-     * Finds a constructor annotated with @Inject in the given class.
+     * Creates an instance through the supplier of a definition, marking the
+     * definition as in flight. Supplier bodies are opaque to the static cycle
+     * check, so {@link #createInstance(BeanDefinition)} uses the marker to fail
+     * fast when the same thread requests the bean again.
      *
-     * @param <T> The type of the class.
-     * @param type The class to inspect.
-     * @return The injectable constructor, or null if none is found.
+     * @param definition The bean definition with a supplier.
+     * @return The supplied instance.
      */
-    private <T> Constructor<T> findInjectableConstructor(Class<T> type) {
-        List<Constructor<?>> constructors = Arrays.asList(type.getDeclaredConstructors());
-
-        // Priorizar constructor con @Inject
-        Optional<Constructor<?>> injectConstructor = constructors.stream()
-                .filter(c -> c.isAnnotationPresent(Inject.class))
-                .findFirst();
-
-        if (injectConstructor.isPresent()) {
-            return (Constructor<T>) injectConstructor.get();
+    private Object createFromSupplier(BeanDefinition definition) {
+        boolean marked = definition.markCreating(Thread.currentThread());
+        try {
+            return definition.getSupplier().get();
+        } finally {
+            if (marked) {
+                definition.clearCreating();
+            }
         }
-
-        // Si no hay @Inject, elegir el constructor con más parámetros
-        return (Constructor<T>) constructors.stream()
-                .max(Comparator.comparingInt(Constructor::getParameterCount))
-                .orElseThrow(() -> new BeanResolutionException("No suitable constructor found for " + type.getName()));
     }
 
     /**
-     * Resolves the parameters required for a constructor, handling special
-     * cases like Lazy<T> and Supplier<T>.
+     * Verifies that no chain of constructor, field or method dependencies
+     * leads from a definition back to itself. Every definition reached without
+     * finding a cycle is stamped with the current generation, so the check
+     * runs at most once per definition until the registry changes.
      *
-     * @param constructor The constructor whose parameters need to be resolved.
-     * @return An array of resolved parameter values.
+     * @param root The definition about to be instantiated.
+     * @throws BeanResolutionException If a dependency cycle is found.
      */
-    private Object[] getConstructorParameters(Constructor<?> constructor) {
-        return Arrays.stream(constructor.getParameters())
-                .map(param -> {
-                    // Handle Lazy<T>
-                    if (param.getType().equals(Lazy.class)) {
-                        Type genericType = param.getParameterizedType();
-                        if (genericType instanceof ParameterizedType parameterizedType) {
-                            Type[] typeArgs = parameterizedType.getActualTypeArguments();
-                            Class<?> targetType = (Class<?>) typeArgs[0];
-                            return new Lazy<>(this, targetType);
-                        }
-                        throw new RuntimeException("Lazy must have a generic type");
-                    }
+    private void checkForCycles(BeanDefinition root) {
+        int current = generation;
+        Map<BeanDefinition, Boolean> visited = new IdentityHashMap<>();
+        List<BeanDefinition> path = new ArrayList<>();
+        visitDependencies(root, current, visited, path);
+        for (BeanDefinition definition : visited.keySet()) {
+            definition.setCheckedGeneration(current);
+        }
+    }
 
-                    // Handle Supplier<T>
-                    if (param.getType().equals(Supplier.class)) {
-                        Type genericType = param.getParameterizedType();
-                        if (genericType instanceof ParameterizedType parameterizedType) {
-                            Type[] typeArgs = parameterizedType.getActualTypeArguments();
-                            Class<?> targetType = (Class<?>) typeArgs[0];
-                            return (Supplier<?>) () -> resolve(targetType);
-                        }
-                    }
+    private void visitDependencies(BeanDefinition definition, int current,
+            Map<BeanDefinition, Boolean> visited, List<BeanDefinition> path) {
+        if (definition.getCheckedGeneration() == current) {
+            return;
+        }
+        Boolean finished = visited.get(definition);
+        if (finished != null) {
+            if (!finished) {
+                List<BeanDefinition> cycle = new ArrayList<>(path.subList(path.indexOf(definition), path.size()));
+                cycle.add(definition);
+                String description = cycle.stream()
+                        .map(d -> d.getKey().toString())
+                        .collect(Collectors.joining(" -> "));
+                throw new BeanResolutionException("Circular dependency detected:\n" + description);
+            }
+            return;
+        }
 
-                    // Handle normal parameter resolution
-                    Qualifier qualifier = param.getAnnotation(Qualifier.class);
-                    return (qualifier != null)
-                            ? resolveQualified(param.getType(), qualifier.value())
-                            : resolve(param.getType());
-                })
-                .toArray();
+        visited.put(definition, Boolean.FALSE);
+        path.add(definition);
+        for (BeanDefinition dependency : dependenciesOf(definition)) {
+            visitDependencies(dependency, current, visited, path);
+        }
+        path.remove(path.size() - 1);
+        visited.put(definition, Boolean.TRUE);
     }
 
     /**
-     * Injects dependencies into fields annotated with @Inject or @Value.
+     * Returns the registered definitions a bean needs before it can be
+     * constructed and injected. Lazy, Supplier, @Lazy, CompletableFuture and
+     * @Value injection points do not create edges, and dependencies that
+     * cannot be resolved are left for resolution to report.
      *
-     * @param instance The instance whose fields need to be injected.
+     * @param definition The bean definition.
+     * @return The definitions of its direct dependencies.
      */
-    private void injectFields(Object instance) throws BeanCreationException {
-        for (Field field : instance.getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class) || field.isAnnotationPresent(Value.class)) {
-                injectField(instance, field);
-            }
+    private List<BeanDefinition> dependenciesOf(BeanDefinition definition) {
+        if (definition.getSupplier() != null) {
+            return Collections.emptyList();
         }
-
-        for (Method method : instance.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(Inject.class) || method.isAnnotationPresent(Value.class)) {
-                injectMethod(instance, method);
-            }
+        InjectionPlan plan = InjectionPlan.of(definition.getType());
+        List<BeanDefinition> dependencies = new ArrayList<>();
+        addDependencies(plan.getConstructorParameters(), dependencies);
+        addDependencies(plan.getFieldPoints(), dependencies);
+        for (List<InjectionPoint> parameters : plan.getMethodParameters()) {
+            addDependencies(parameters, dependencies);
         }
+        return dependencies;
     }
 
-    private void injectMethod(Object instance, Method method) {
-        try {
-            method.setAccessible(true);
-            Parameter[] parameters = method.getParameters();
-            Object[] args = new Object[parameters.length];
-
-            for (int i = 0; i < parameters.length; i++) {
-                Parameter param = parameters[i];
-                args[i] = resolveParameter(param);
+    private void addDependencies(List<InjectionPoint> points, List<BeanDefinition> dependencies) {
+        for (InjectionPoint point : points) {
+            if (point.getKind() == InjectionPoint.Kind.BEAN) {
+                BeanDefinition dependency = findDependency(point);
+                if (dependency != null) {
+                    dependencies.add(dependency);
+                }
             }
-
-            method.invoke(instance, args);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("Error injecting method: " + method.getName(), e);
         }
     }
 
-    private Object resolveParameter(Parameter param) {
-        if (param.isAnnotationPresent(Value.class)) {
-            Value value = param.getAnnotation(Value.class);
-            String key = value.value().replace("${", "").replace("}", "");
-            return resolveParameterValue(param, key);
-        }
-        if (param.isAnnotationPresent(Inject.class)) {
-            Qualifier qualifier = param.getAnnotation(Qualifier.class);
-            return qualifier != null
-                    ? resolveQualified(param.getType(), qualifier.value())
-                    : resolve(param.getType());
+    /**
+     * Finds the definition an injection point resolves to, using the same
+     * rules as {@link #resolve(Class)} and {@link #resolveQualified(Class, String)}.
+     *
+     * @param point The injection point.
+     * @return The definition, or null if the point cannot be resolved.
+     */
+    private BeanDefinition findDependency(InjectionPoint point) {
+        try {
+            return definitionOf(point);
+        } catch (RuntimeException e) {
+            return null;
         }
-        throw new IllegalStateException("Parameter without injection annotation: " + param.getName());
     }
 
-    private Object resolveParameterValue(Parameter param, String key) {
-        Class<?> type = param.getType();
-        String value = properties.getProperty(key);
-
-        if (value == null) {
-            throw new RuntimeException("Property not found: " + key);
-        }
+    /**
+     * Chooses the definition a bean, Lazy or Supplier injection point
+     * resolves to.
+     *
+     * @param point The injection point.
+     * @return The definition of its target bean.
+     * @throws RuntimeException If no bean is found or the choice is ambiguous.
+     */
+    private BeanDefinition definitionOf(InjectionPoint point) {
+        Class<?> target = requireTarget(point);
+        return point.getQualifier() != null
+                ? findQualifiedDefinition(target, point.getQualifier())
+                : findDefinition(target);
+    }
 
-        if (type == String.class) {
-            return value;
-        }
-        if (type == int.class || type == Integer.class) {
-            return Integer.valueOf(value);
-        }
-        if (type == boolean.class || type == Boolean.class) {
-            return Boolean.valueOf(value);
-        }
-        if (type == long.class || type == Long.class) {
-            return Long.valueOf(value);
-        }
-        if (type == double.class || type == Double.class) {
-            return Double.valueOf(value);
+    /**
+     * Returns the factory of a bean definition, compiling and caching it on
+     * first use.
+     *
+     * @param definition The bean definition.
+     * @return The factory for the definition's type.
+     */
+    private BeanFactory getFactory(BeanDefinition definition) {
+        BeanFactory factory = definition.getFactory();
+        if (factory == null) {
+            factory = buildFactory(definition.getType());
+            definition.setFactory(factory);
         }
-
-        throw new RuntimeException("Unsupported type for @Value: " + type.getName());
+        return factory;
     }
 
     /**
-     * Injects a specific field with the appropriate value or dependency.
+     * Builds the factory for the given type: the one generated at compile
+     * time if there is one, otherwise a method handle based factory, falling
+     * back to reflective injection when the class cannot be compiled.
      *
-     * @param instance The instance containing the field.
-     * @param field The field to inject.
-     * @throws RuntimeException If an error occurs during injection.
+     * @param type The class type to instantiate.
+     * @return A factory for the type.
      */
-    private void injectField(Object instance, Field field) throws BeanCreationException {
-        try {
-            field.setAccessible(true); // Esto permite acceder a campos privados
+    private BeanFactory buildFactory(Class<?> type) {
+        ComponentFactory<?> generated = generatedFactories.get(type);
+        if (generated != null) {
+            return new GeneratedBeanFactory<>(this, generated);
+        }
 
-            if (field.isAnnotationPresent(Value.class)) {
-                Value valueAnnotation = field.getAnnotation(Value.class);
-                String key = valueAnnotation.value().replace("${", "").replace("}", "");
-                Object value = resolveValue(field, key);
-                field.set(instance, value);
-                return;
+        InjectionPlan plan = InjectionPlan.of(type);
+        try {
+            BeanFactory compiled = CompiledBeanFactory.compile(this, plan);
+            if (compiled != null) {
+                return compiled;
             }
+        } catch (IllegalAccessException | SecurityException e) {
+            LOGGER.log(Level.FINE, "Using reflective injection for " + type.getName(), e);
+        }
+        return new ReflectiveBeanFactory(plan);
+    }
 
-            if (field.isAnnotationPresent(Inject.class)) {
-                Class<?> fieldType = field.getType();
+    /**
+     * Produces the value of an injection point: a property, a Lazy<T>,
+     * Supplier<T> or CompletableFuture<T> wrapper, a lazy proxy, or a bean
+     * resolved by type and optional qualifier.
+     *
+     * @param point The injection point.
+     * @return The value to inject.
+     */
+    Object resolveInjectionPoint(InjectionPoint point) {
+        return switch (point.getKind()) {
+            case VALUE ->
+                resolveProperty(point.getValueKey(), point.getType());
+            case LAZY -> {
+                Class<?> targetType = requireTarget(point);
+                yield point.getQualifier() != null
+                        ? new Lazy<>(this, targetType, point.getQualifier())
+                        : new Lazy<>(this, targetType);
+            }
+            case PROXY -> {
+                Class<?> targetType = point.getType();
+                yield LazyProxies.create(targetType, point.getQualifier() != null
+                        ? new Lazy<>(this, targetType, point.getQualifier())
+                        : new Lazy<>(this, targetType));
+            }
+            case FUTURE ->
+                resolveAsync(requireTarget(point), point.getQualifier());
+            case SUPPLIER -> {
+                Class<?> targetType = requireTarget(point);
+                String qualifier = point.getQualifier();
+                yield (Supplier<?>) () -> qualifier != null
+                        ? resolveQualified(targetType, qualifier)
+                        : resolve(targetType);
+            }
+            case UNANNOTATED ->
+                throw new IllegalStateException("Parameter without injection annotation: " + point.getName());
+            case BEAN ->
+                point.getQualifier() != null
+                ? resolveQualified(point.getType(), point.getQualifier())
+                : resolve(point.getType());
+        };
+    }
 
-                if (fieldType.equals(Lazy.class)) {
-                    field.set(instance, createLazyForField(field));
-                    return;
-                }
+    private Class<?> requireTarget(InjectionPoint point) {
+        if (point.getTarget() == null) {
+            throw new RuntimeException(point.getType().getSimpleName() + " must have a generic type: " + point.getName());
+        }
+        return point.getTarget();
+    }
 
-                Qualifier qualifier = field.getAnnotation(Qualifier.class);
-                Object value = qualifier != null
-                        ? resolveQualified(fieldType, qualifier.value())
-                        : resolve(fieldType);
+    /**
+     * Resolves the values of a list of injection points.
+     *
+     * @param points The injection points.
+     * @return An array of resolved values.
+     */
+    private Object[] resolveInjectionPoints(List<InjectionPoint> points) {
+        Object[] values = new Object[points.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = resolveInjectionPoint(points.get(i));
+        }
+        return values;
+    }
 
+    /**
+     * Injects dependencies into the fields and methods annotated with @Inject
+     * or @Value, as listed by the injection plan.
+     *
+     * @param instance The instance whose members need to be injected.
+     * @param plan The injection plan of the instance class.
+     */
+    private void injectFields(Object instance, InjectionPlan plan) {
+        List<Field> fields = plan.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            Object value = resolveInjectionPoint(plan.getFieldPoints().get(i));
+            try {
                 field.set(instance, value);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Error injecting field: " + field.getName(), e);
+            }
+        }
+
+        List<Method> methods = plan.getMethods();
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            Object[] args = resolveInjectionPoints(plan.getMethodParameters().get(i));
+            try {
+                method.invoke(instance, args);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("Error injecting method: " + method.getName(), e);
             }
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException("Error injecting field: " + field.getName(), e);
         }
     }
 
@@ -656,7 +1265,7 @@ public class Injector {
             boolean isSingleton = isSingleton(implementationClass);
             boolean isPrimary = implementationClass.isAnnotationPresent(Primary.class);
             definition = new BeanDefinition(implementationClass, qualifier, isSingleton, isPrimary);
-            beanDefinitions.put(key, definition);
+            addDefinition(key, definition);
 
             if (isSingleton) {
                 createAndStoreSingleton(key, definition);
@@ -667,8 +1276,8 @@ public class Injector {
     }
 
     /**
-     * Resolves an instance of the specified type, handling both interfaces and
-     * concrete classes.
+     * Resolves an instance of the specified type, handling interfaces,
+     * abstract classes and concrete classes.
      *
      * @param <T> The type of the instance to resolve.
      * @param type The class or interface type to resolve.
@@ -677,43 +1286,113 @@ public class Injector {
      * exist for an interface.
      */
     public <T> T resolve(Class<T> type) {
-        if (type.isInterface()) {
-            List<BeanDefinition> candidates = interfaceImplementations.getOrDefault(type, Collections.emptyList());
-            if (candidates.isEmpty()) {
-                throw new RuntimeException("No bean found for interface: " + type.getName());
+        if (metrics != null) {
+            metrics.resolved(type);
+        }
+        FrozenRegistry registry = frozenRegistry;
+        if (registry != null) {
+            int id = registry.idOf(type);
+            if (id >= 0) {
+                BeanDefinition definition = registry.definition(id);
+                return resolveDefinition(definition.getKey(), definition);
             }
+        }
 
-            List<BeanDefinition> primaryCandidates = candidates.stream()
-                    .filter(BeanDefinition::isPrimary)
-                    .collect(Collectors.toList());
-
-            if (!primaryCandidates.isEmpty()) {
-                if (primaryCandidates.size() > 1) {
-                    throw new RuntimeException("Multiple primary beans found for: " + type.getName());
-                }
-                BeanDefinition primary = primaryCandidates.get(0);
-                return resolveDefinition(new BeanKey(primary.getType(), primary.getQualifier()), primary);
-            }
+        BeanDefinition definition = resolutionCache.get(type);
+        if (definition == null) {
+            definition = lookupDefinition(type, null);
+            resolutionCache.put(type, definition);
+        }
+        return resolveDefinition(definition.getKey(), definition);
+    }
 
-            // If no primary bean exists, throw an error if multiple implementations are found
-            if (candidates.size() > 1) {
-                throw new RuntimeException("Multiple implementations found for " + type.getName()
-                        + ". Use @Qualifier or mark one as @Primary.");
-            }
+    /**
+     * Looks up the definition for a resolution that the resolution cache
+     * could not answer, emitting a {@link BeanLookupEvent} while Flight
+     * Recorder records it.
+     *
+     * @param type The requested type.
+     * @param qualifier The requested qualifier, or null.
+     * @return The chosen bean definition.
+     * @throws RuntimeException If no bean is found or the choice is ambiguous.
+     */
+    private BeanDefinition lookupDefinition(Class<?> type, String qualifier) {
+        BeanLookupEvent event = new BeanLookupEvent();
+        if (!event.isEnabled()) {
+            return qualifier != null ? findQualifiedDefinition(type, qualifier) : findDefinition(type);
+        }
+        event.begin();
+        event.requestedType = type;
+        event.qualifier = qualifier;
+        try {
+            BeanDefinition definition = qualifier != null
+                    ? findQualifiedDefinition(type, qualifier)
+                    : findDefinition(type);
+            event.beanType = definition.getType();
+            return definition;
+        } finally {
+            event.commit();
+        }
+    }
 
-            BeanDefinition definition = candidates.get(0);
-            return resolveDefinition(new BeanKey(definition.getType(), definition.getQualifier()), definition);
+    /**
+     * Chooses the bean definition that {@link #resolve(Class)} uses for a
+     * type. The result only changes when definitions are added.
+     *
+     * @param type The class or interface type to resolve.
+     * @return The chosen bean definition.
+     * @throws RuntimeException If no bean is found or the choice is ambiguous.
+     */
+    BeanDefinition findDefinition(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return selectCandidate(type);
         }
 
         // For concrete classes, resolve by type and default qualifier
         String defaultQualifier = determineQualifier(type);
-        BeanKey key = new BeanKey(type, defaultQualifier);
-        BeanDefinition definition = beanDefinitions.get(key);
+        BeanDefinition definition = beanDefinitions.get(new BeanKey(type, defaultQualifier));
 
         if (definition == null) {
+            if (typeIndex.containsKey(type)) {
+                return selectCandidate(type);
+            }
             throw new RuntimeException("No bean found for type: " + type.getName() + " with qualifier: " + defaultQualifier);
         }
-        return resolveDefinition(key, definition);
+        return definition;
+    }
+
+    /**
+     * Selects the single bean assignable to a type, preferring a bean marked
+     * as @Primary when several are registered.
+     *
+     * @param type The supertype to resolve.
+     * @return The selected bean definition.
+     * @throws RuntimeException If no bean, several primary beans, or several
+     * beans without a primary one are found.
+     */
+    private BeanDefinition selectCandidate(Class<?> type) {
+        List<BeanDefinition> candidates = typeIndex.getOrDefault(type, Collections.emptyList());
+        if (candidates.isEmpty()) {
+            throw new RuntimeException("No bean found for interface: " + type.getName());
+        }
+
+        List<BeanDefinition> primaryCandidates = candidates.stream()
+                .filter(BeanDefinition::isPrimary)
+                .collect(Collectors.toList());
+
+        if (!primaryCandidates.isEmpty()) {
+            if (primaryCandidates.size() > 1) {
+                throw new RuntimeException("Multiple primary beans found for: " + type.getName());
+            }
+            return primaryCandidates.get(0);
+        }
+
+        // If no primary bean exists, throw an error if multiple implementations are found
+        if (candidates.size() > 1) {
+            throw new RuntimeException("Multiple implementations found for " + type.getName()
+                    + ". Use @Qualifier or mark one as @Primary.");
+        }
+        return candidates.get(0);
     }
 
     /**
@@ -728,10 +1407,25 @@ public class Injector {
      * the same qualifier.
      */
     public <T> T resolveQualified(Class<T> type, String qualifier) {
-        List<BeanDefinition> candidates = beanDefinitions.values().stream()
-                .filter(bd -> type.isAssignableFrom(bd.getType()))
-                .filter(bd -> Objects.equals(qualifier, bd.getQualifier()))
-                .collect(Collectors.toList());
+        if (metrics != null) {
+            metrics.resolved(type);
+        }
+        BeanDefinition definition = lookupDefinition(type, qualifier);
+        return resolveDefinition(definition.getKey(), definition);
+    }
+
+    /**
+     * Chooses the bean definition that
+     * {@link #resolveQualified(Class, String)} uses for a type and qualifier.
+     *
+     * @param type The class type to resolve.
+     * @param qualifier The qualifier used to identify the correct bean.
+     * @return The chosen bean definition.
+     * @throws RuntimeException If no bean is found or multiple beans exist with
+     * the same qualifier.
+     */
+    BeanDefinition findQualifiedDefinition(Class<?> type, String qualifier) {
+        List<BeanDefinition> candidates = qualifiedIndex.getOrDefault(new BeanKey(type, qualifier), Collections.emptyList());
 
         if (candidates.isEmpty()) {
             throw new RuntimeException("No bean found for type: " + type.getName() + " with qualifier: " + qualifier);
@@ -739,9 +1433,43 @@ public class Injector {
         if (candidates.size() > 1) {
             throw new RuntimeException("Multiple beans found for type: " + type.getName() + " with qualifier: " + qualifier);
         }
-        BeanDefinition definition = candidates.get(0);
-        BeanKey key = new BeanKey(definition.getType(), definition.getQualifier());
-        return resolveDefinition(key, definition);
+        return candidates.get(0);
+    }
+
+    /**
+     * Returns a pre-resolved handle for a type. The bean definition is chosen
+     * once, by the same rules as {@link #resolve(Class)}; every
+     * {@link BeanHandle#get()} afterwards skips the lookup.
+     *
+     * @param <T> The type of the bean.
+     * @param type The class or interface type to resolve.
+     * @return The bean handle.
+     * @throws RuntimeException If no bean is found or the choice is ambiguous.
+     */
+    public <T> BeanHandle<T> handle(Class<T> type) {
+        return new BeanHandle<>(this, type, null);
+    }
+
+    /**
+     * Returns a pre-resolved handle for a type and qualifier, chosen by the
+     * same rules as {@link #resolveQualified(Class, String)}.
+     *
+     * @param <T> The type of the bean.
+     * @param type The class type to resolve.
+     * @param qualifier The qualifier used to identify the correct bean.
+     * @return The bean handle.
+     * @throws RuntimeException If no bean is found or multiple beans exist with
+     * the same qualifier.
+     */
+    public <T> BeanHandle<T> handle(Class<T> type, String qualifier) {
+        return new BeanHandle<>(this, type, qualifier);
+    }
+
+    /**
+     * Returns the current registry generation.
+     */
+    int generation() {
+        return generation;
     }
 
     /**
@@ -751,29 +1479,209 @@ public class Injector {
      * @param definition The bean definition.
      */
     private void createAndStoreSingleton(BeanKey key, BeanDefinition definition) {
-        singletons.computeIfAbsent(key, k -> createInstance(definition.getType()));
+        getOrCreateSingleton(key, definition);
     }
 
     /**
      * Resolves a bean definition, returning either a singleton instance or a
-     * new instance.
+     * new instance. If the instance is still running asynchronous
+     * @PostConstruct methods, waits for them.
      *
      * @param <T> The type of the bean.
      * @param key The key representing the bean.
      * @param definition The bean definition.
      * @return The resolved bean instance.
      */
-    private <T> T resolveDefinition(BeanKey key, BeanDefinition definition) {
+    <T> T resolveDefinition(BeanKey key, BeanDefinition definition) {
+        T instance = resolveInstance(key, definition);
+        if (!initializations.isEmpty()) {
+            awaitInitialization(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Resolves a bean definition like
+     * {@link #resolveDefinition(BeanKey, BeanDefinition)}, without waiting
+     * for asynchronous @PostConstruct methods.
+     */
+    private <T> T resolveInstance(BeanKey key, BeanDefinition definition) {
         if (definition.isSingleton()) {
-            synchronized (singletons) {
-                if (!singletons.containsKey(key)) {
-                    Object instance = createInstance(definition.getType());
-                    singletons.put(key, instance);
+            FrozenRegistry registry = frozenRegistry;
+            if (registry != null && definition.getId() >= 0) {
+                Object instance = registry.singleton(definition.getId());
+                if (instance == null) {
+                    instance = getOrCreateSingleton(key, definition);
+                    registry.publish(definition.getId(), instance);
+                } else if (metrics != null) {
+                    metrics.singletonHit();
                 }
-                return (T) singletons.get(key);
+                return (T) instance;
             }
+            return (T) getOrCreateSingleton(key, definition);
+        } else if (definition.getScope() != null) {
+            ScopedBinding binding = definition.getScopedBinding();
+            return (T) (binding != null ? binding : bindScope(definition)).resolve();
         } else {
-            return (T) createInstance(definition.getType());
+            if (metrics != null) {
+                metrics.prototypeCreated(definition);
+            }
+            return (T) createInstance(definition);
+        }
+    }
+
+    /**
+     * Binds a bean definition to the instance of its scope on its first
+     * resolution.
+     *
+     * @param definition A definition of a scope other than singleton and
+     * prototype.
+     * @return The binding, also stored on the definition.
+     * @throws BeanResolutionException If no scope is registered under the
+     * name.
+     */
+    private ScopedBinding bindScope(BeanDefinition definition) {
+        BeanScope scope = scopes.get(definition.getScope());
+        if (scope == null) {
+            throw new BeanResolutionException("No scope registered under the name '" + definition.getScope()
+                    + "' for " + definition.getKey());
+        }
+        ScopedBinding binding = new ScopedBinding(this, scope, definition);
+        definition.setScopedBinding(binding);
+        return binding;
+    }
+
+    /**
+     * Creates an instance of a scoped bean for its scope.
+     *
+     * @param definition The bean definition.
+     * @return A fully initialized instance.
+     */
+    Object createScoped(BeanDefinition definition) {
+        return createInstance(definition);
+    }
+
+    /**
+     * Invokes the @PreDestroy methods of a scoped bean whose context ends.
+     *
+     * @param bean The bean instance.
+     */
+    void destroyScoped(Object bean) {
+        invokePreDestroy(bean);
+    }
+
+    /**
+     * Registers a scope under a name. Components annotated with
+     * {@code @Scope(name = "...")} use it; they may be registered before
+     * their scope, which is looked up when they are first resolved. The
+     * names of the built-in {@link ThreadScope} and {@link RequestScope}
+     * cannot be taken.
+     *
+     * @param name The scope name.
+     * @param scope The scope, serving only this injector.
+     * @throws IllegalArgumentException If the name is already registered.
+     */
+    public void registerScope(String name, BeanScope scope) {
+        if (scopes.putIfAbsent(name, scope) != null) {
+            throw new IllegalArgumentException("A scope is already registered under the name '" + name + "'");
+        }
+    }
+
+    /**
+     * Returns the scope of beans annotated with
+     * {@code @Scope(ScopeType.THREAD)}.
+     */
+    public ThreadScope getThreadScope() {
+        return threadScope;
+    }
+
+    /**
+     * Returns the scope of beans annotated with
+     * {@code @Scope(ScopeType.REQUEST)}, used to begin requests.
+     */
+    public RequestScope getRequestScope() {
+        return requestScope;
+    }
+
+    /**
+     * Returns the scope of beans annotated with
+     * {@code @Scope(ScopeType.POOLED)}, which reports the pool counters.
+     */
+    public PoolScope getPoolScope() {
+        return poolScope;
+    }
+
+    /**
+     * Borrows an instance of a pooled bean. The instance comes from the
+     * pool of the bean if it has an idle one and is created otherwise;
+     * closing the returned handle resets it and returns it to the pool.
+     *
+     * @param <T> The type of the bean.
+     * @param type The class or interface type to resolve.
+     * @return The borrowed instance, to be closed after use.
+     * @throws BeanResolutionException If the bean is not annotated with
+     * {@code @Scope(ScopeType.POOLED)}.
+     * @throws RuntimeException If no bean is found or the choice is ambiguous.
+     */
+    public <T> Pooled<T> borrow(Class<T> type) {
+        return borrowDefinition(type, findDefinition(type));
+    }
+
+    /**
+     * Borrows an instance of a pooled bean chosen by type and qualifier, as
+     * {@link #borrow(Class)} does.
+     *
+     * @param <T> The type of the bean.
+     * @param type The class type to resolve.
+     * @param qualifier The qualifier used to identify the correct bean.
+     * @return The borrowed instance, to be closed after use.
+     * @throws BeanResolutionException If the bean is not annotated with
+     * {@code @Scope(ScopeType.POOLED)}.
+     * @throws RuntimeException If no bean is found or multiple beans exist with
+     * the same qualifier.
+     */
+    public <T> Pooled<T> borrow(Class<T> type, String qualifier) {
+        return borrowDefinition(type, findQualifiedDefinition(type, qualifier));
+    }
+
+    private <T> Pooled<T> borrowDefinition(Class<T> type, BeanDefinition definition) {
+        if (!PoolScope.NAME.equals(definition.getScope())) {
+            throw new BeanResolutionException("Bean " + definition.getKey() + " is not pooled");
+        }
+        ScopedBinding binding = definition.getScopedBinding();
+        return poolScope.borrow(binding != null ? binding : bindScope(definition), type);
+    }
+
+    /**
+     * Returns the singleton for a key, creating it exactly once. Published
+     * singletons are read without locking; creation only locks the key being
+     * created, so unrelated singletons can be created in parallel.
+     *
+     * @param key The key representing the bean.
+     * @param definition The bean definition.
+     * @return The singleton instance.
+     */
+    private Object getOrCreateSingleton(BeanKey key, BeanDefinition definition) {
+        Object instance = singletons.get(key);
+        if (instance != null) {
+            if (metrics != null) {
+                metrics.singletonHit();
+            }
+            return instance;
+        }
+
+        ReentrantLock lock = singletonLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        lock.lock();
+        try {
+            instance = singletons.get(key);
+            if (instance == null) {
+                instance = createInstance(definition);
+                singletons.put(key, instance);
+                singletonLocks.remove(key);
+            }
+            return instance;
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -783,16 +1691,300 @@ public class Injector {
      *
      * @param bean The bean instance to initialize.
      * @param beanName The name of the bean.
+     * @param factory The factory that created the bean.
      */
-    private void initializeBean(Object bean, String beanName) {
-        if (initializedBeans.contains(bean)) {
-            return;
+    private void initializeBean(Object bean, String beanName, BeanFactory factory) {
+        Object processedBean = applyBeanPostProcessorsBeforeInitialization(bean, beanName);
+        LifecycleCallbackEvent event = new LifecycleCallbackEvent();
+        event.begin();
+        if (processedBean.getClass() == factory.getType()) {
+            factory.postConstruct(processedBean);
+        } else {
+            invokePostConstruct(processedBean);
+        }
+        commitLifecycleEvent(event, processedBean, "PostConstruct");
+        MethodHandle[] asyncCallbacks = processedBean.getClass() == factory.getType()
+                ? factory.getAsyncPostConstructMethods()
+                : asyncPostConstructMethods(processedBean.getClass());
+        if (asyncCallbacks.length > 0) {
+            startAsyncPostConstruct(bean, processedBean, asyncCallbacks);
         }
+        applyBeanPostProcessorsAfterInitialization(processedBean, beanName);
+    }
 
-        Object processedBean = applyBeanPostProcessorsBeforeInitialization(bean, beanName);
-        invokePostConstruct(processedBean);
-        processedBean = applyBeanPostProcessorsAfterInitialization(processedBean, beanName);
-        initializedBeans.add(processedBean);
+    /**
+     * Runs the asynchronous @PostConstruct methods of a bean on the
+     * initialization executor. Until they complete, the bean is listed in
+     * {@link #initializations}.
+     *
+     * @param bean The bean instance, as resolutions return it.
+     * @param processedBean The instance returned by the post-processors,
+     * whose methods are invoked.
+     * @param callbacks The asynchronous @PostConstruct methods.
+     */
+    private void startAsyncPostConstruct(Object bean, Object processedBean, MethodHandle[] callbacks) {
+        AsyncInitialization initialization = new AsyncInitialization(bean, processedBean, callbacks);
+        initializations.put(initialization.key, initialization);
+        Map<InstanceKey, AsyncInitialization> started = startedInitializations.get();
+        if (started != null) {
+            started.put(initialization.key, initialization);
+        }
+        initializationExecutor().execute(initialization);
+    }
+
+    /**
+     * The asynchronous @PostConstruct methods of one bean. They run once, on
+     * whichever thread claims them first: normally the initialization
+     * executor, or a thread that needs the bean before the executor got to
+     * it. The bean is unlisted before the future completes, so a failure is
+     * reported to the resolutions and futures waiting for the bean at that
+     * point and logged, but does not keep the bean reachable.
+     */
+    private final class AsyncInitialization implements Runnable {
+
+        private final InstanceKey key;
+        private final Object processedBean;
+        private final MethodHandle[] callbacks;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicReference<Thread> runner = new AtomicReference<>();
+
+        AsyncInitialization(Object bean, Object processedBean, MethodHandle[] callbacks) {
+            this.key = new InstanceKey(bean);
+            this.processedBean = processedBean;
+            this.callbacks = callbacks;
+        }
+
+        /**
+         * Runs the callbacks, unless another thread has claimed them.
+         */
+        @Override
+        public void run() {
+            if (!runner.compareAndSet(null, Thread.currentThread())) {
+                return;
+            }
+            RuntimeException failure = null;
+            LifecycleCallbackEvent event = new LifecycleCallbackEvent();
+            event.begin();
+            for (MethodHandle method : callbacks) {
+                try {
+                    method.invokeExact(processedBean);
+                } catch (Throwable e) {
+                    failure = new RuntimeException("Error invoking @PostConstruct method", e);
+                    break;
+                }
+            }
+            commitLifecycleEvent(event, processedBean, "PostConstruct");
+            initializations.remove(key, this);
+            if (failure == null) {
+                future.complete(null);
+            } else {
+                LOGGER.log(Level.SEVERE, "Asynchronous initialization of "
+                        + processedBean.getClass().getName() + " failed", failure);
+                future.completeExceptionally(failure);
+            }
+        }
+
+        /**
+         * Waits for the callbacks, running them on the current thread if no
+         * thread has claimed them yet, so that a callback resolving a bean
+         * queued behind it on the executor does not wait for itself. A
+         * callback resolving its own bean gets it without waiting, as a
+         * circular dependency would.
+         */
+        void await() {
+            run();
+            if (runner.get() != Thread.currentThread() || future.isDone()) {
+                join(future);
+            }
+        }
+    }
+
+    /**
+     * Binds the asynchronous @PostConstruct methods of a class that no
+     * factory covers, such as the class of a post-processor's replacement.
+     */
+    private static MethodHandle[] asyncPostConstructMethods(Class<?> type) {
+        try {
+            return CompiledBeanFactory.callbacks(InjectionPlan.of(type).getAsyncPostConstructMethods(),
+                    MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new BeanResolutionException("Cannot access the @PostConstruct methods of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Returns the executor of asynchronous initialization: the configured
+     * initialization executor, or else a pool of daemon threads created for
+     * this injector.
+     */
+    private Executor initializationExecutor() {
+        Executor executor = configuration.getInitializationExecutor();
+        if (executor != null) {
+            return executor;
+        }
+        ExecutorService owned = ownedExecutor.get();
+        if (owned == null) {
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService created = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "di4j-init-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (ownedExecutor.compareAndSet(null, created)) {
+                owned = created;
+            } else {
+                created.shutdown();
+                owned = ownedExecutor.get();
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * Waits for the asynchronous @PostConstruct methods of a bean, if any
+     * are running.
+     *
+     * @param bean The bean instance.
+     * @throws RuntimeException If one of them failed.
+     */
+    private void awaitInitialization(Object bean) {
+        AsyncInitialization initialization = initializations.get(new InstanceKey(bean));
+        if (initialization != null) {
+            initialization.await();
+        }
+    }
+
+    /**
+     * A bean instance as a map key, compared by identity rather than by
+     * its equals and hashCode methods.
+     */
+    private static final class InstanceKey {
+
+        private final Object bean;
+
+        InstanceKey(Object bean) {
+            this.bean = bean;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof InstanceKey key && key.bean == bean;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bean);
+        }
+    }
+
+    /**
+     * Waits for a future, rethrowing the unchecked exception it failed with.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a future of a bean, resolved by the same rules as
+     * {@link #resolve(Class)}, that completes once the bean is fully
+     * initialized. A singleton that already exists is not created again;
+     * any other bean is created on the initialization executor, so the call
+     * returns immediately. The future completes after the asynchronous
+     * @PostConstruct methods of the bean have run.
+     *
+     * @param <T> The type of the bean.
+     * @param type The class or interface type to resolve.
+     * @return The future of the bean, failing if it cannot be resolved.
+     */
+    public <T> CompletableFuture<T> resolveAsync(Class<T> type) {
+        return resolveAsync(type, null);
+    }
+
+    /**
+     * Returns a future of a bean chosen by type and qualifier, as
+     * {@link #resolveAsync(Class)} does.
+     *
+     * @param <T> The type of the bean.
+     * @param type The class type to resolve.
+     * @param qualifier The qualifier used to identify the correct bean, or
+     * null.
+     * @return The future of the bean, failing if it cannot be resolved.
+     */
+    public <T> CompletableFuture<T> resolveAsync(Class<T> type, String qualifier) {
+        BeanDefinition definition;
+        try {
+            definition = lookupDefinition(type, qualifier);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (definition.isSingleton()) {
+            Object instance = singletons.get(definition.getKey());
+            if (instance != null) {
+                return initialized(type.cast(instance));
+            }
+        }
+        return CompletableFuture
+                .supplyAsync(() -> createInitialized(type, definition), initializationExecutor())
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Resolves a bean for {@link #resolveAsync(Class, String)}, returning a
+     * future completing with it once its asynchronous @PostConstruct
+     * methods have run.
+     */
+    private <T> CompletableFuture<T> createInitialized(Class<T> type, BeanDefinition definition) {
+        Map<InstanceKey, AsyncInitialization> previous = startedInitializations.get();
+        Map<InstanceKey, AsyncInitialization> started = new HashMap<>();
+        startedInitializations.set(started);
+        T bean;
+        try {
+            bean = type.cast(resolveInstance(definition.getKey(), definition));
+        } finally {
+            if (previous != null) {
+                startedInitializations.set(previous);
+            } else {
+                startedInitializations.remove();
+            }
+        }
+        AsyncInitialization initialization = started.get(new InstanceKey(bean));
+        return initialization != null
+                ? initialization.future.thenApply(ignored -> bean)
+                : initialized(bean);
+    }
+
+    /**
+     * Returns a future completing with a bean once its asynchronous
+     * @PostConstruct methods have run.
+     */
+    private <T> CompletableFuture<T> initialized(T bean) {
+        AsyncInitialization initialization = initializations.get(new InstanceKey(bean));
+        return initialization != null
+                ? initialization.future.thenApply(ignored -> bean)
+                : CompletableFuture.completedFuture(bean);
+    }
+
+    /**
+     * Returns a future completing when every asynchronous @PostConstruct
+     * method still running has run, and failing if one of them fails.
+     * Beans created afterwards are not included.
+     *
+     * @return The future.
+     */
+    public CompletableFuture<Void> whenInitialized() {
+        return CompletableFuture.allOf(initializations.values().stream()
+                .map(initialization -> initialization.future)
+                .toArray(CompletableFuture[]::new));
     }
 
     /**
@@ -803,9 +1995,19 @@ public class Injector {
      * @return The processed bean instance.
      */
     private Object applyBeanPostProcessorsBeforeInitialization(Object bean, String beanName) {
+        if (postProcessors.isEmpty()) {
+            return bean;
+        }
+        long start = metrics != null ? System.nanoTime() : 0;
         Object result = bean;
         for (BeanPostProcessor processor : postProcessors) {
+            PostProcessorEvent event = new PostProcessorEvent();
+            event.begin();
             result = processor.postProcessBeforeInitialization(result, beanName);
+            commitPostProcessorEvent(event, beanName, processor, "BEFORE_INITIALIZATION");
+        }
+        if (metrics != null) {
+            metrics.postProcessed(System.nanoTime() - start);
         }
         return result;
     }
@@ -818,13 +2020,41 @@ public class Injector {
      * @return The processed bean instance.
      */
     private Object applyBeanPostProcessorsAfterInitialization(Object bean, String beanName) {
+        if (postProcessors.isEmpty()) {
+            return bean;
+        }
+        long start = metrics != null ? System.nanoTime() : 0;
         Object result = bean;
         for (BeanPostProcessor processor : postProcessors) {
+            PostProcessorEvent event = new PostProcessorEvent();
+            event.begin();
             result = processor.postProcessAfterInitialization(result, beanName);
+            commitPostProcessorEvent(event, beanName, processor, "AFTER_INITIALIZATION");
+        }
+        if (metrics != null) {
+            metrics.postProcessed(System.nanoTime() - start);
         }
         return result;
     }
 
+    private static void commitPostProcessorEvent(PostProcessorEvent event, String beanName,
+            BeanPostProcessor processor, String phase) {
+        if (event.shouldCommit()) {
+            event.beanName = beanName;
+            event.postProcessor = processor.getClass();
+            event.phase = phase;
+            event.commit();
+        }
+    }
+
+    private static void commitLifecycleEvent(LifecycleCallbackEvent event, Object bean, String callback) {
+        if (event.shouldCommit()) {
+            event.beanType = bean.getClass();
+            event.callback = callback;
+            event.commit();
+        }
+    }
+
     /**
      * Invokes methods annotated with @PostConstruct on the given bean.
      *
@@ -832,26 +2062,44 @@ public class Injector {
      * @throws RuntimeException If an error occurs while invoking the method.
      */
     private void invokePostConstruct(Object bean) {
-        for (Method method : bean.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(PostConstruct.class)) {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(bean);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new RuntimeException("Error invoking @PostConstruct method", e);
-                }
+        for (Method method : InjectionPlan.of(bean.getClass()).getPostConstructMethods()) {
+            try {
+                method.invoke(bean);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("Error invoking @PostConstruct method", e);
             }
         }
     }
 
     /**
      * Destroys all singleton beans by invoking their @PreDestroy methods and
-     * clearing caches.
+     * clearing caches, and ends every context of the other scopes. The
+     * metrics MBean, if any, is unregistered; the counters remain available
+     * from {@link #stats()}. Asynchronous @PostConstruct methods still
+     * running are awaited first.
      */
     public void destroy() {
+        if (metrics != null) {
+            metrics.unregister();
+        }
+        for (AsyncInitialization initialization : initializations.values()) {
+            // Beans are destroyed after their initializers, even failed ones
+            initialization.run();
+            initialization.future.exceptionally(e -> null).join();
+        }
+        initializations.clear();
+        ExecutorService owned = ownedExecutor.getAndSet(null);
+        if (owned != null) {
+            owned.shutdown();
+        }
+        scopes.values().forEach(BeanScope::destroy);
         singletons.values().forEach(this::invokePreDestroy);
         singletons.clear();
-        initializedBeans.clear();
+        FrozenRegistry registry = frozenRegistry;
+        if (registry != null) {
+            registry.clear();
+        }
+        generation++;
     }
 
     /**
@@ -861,16 +2109,16 @@ public class Injector {
      * @throws RuntimeException If an error occurs while invoking the method.
      */
     private void invokePreDestroy(Object bean) {
-        for (Method method : bean.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(PreDestroy.class)) {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(bean);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new RuntimeException("Error invoking @PreDestroy method", e);
-                }
+        LifecycleCallbackEvent event = new LifecycleCallbackEvent();
+        event.begin();
+        for (Method method : InjectionPlan.of(bean.getClass()).getPreDestroyMethods()) {
+            try {
+                method.invoke(bean);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("Error invoking @PreDestroy method", e);
             }
         }
+        commitLifecycleEvent(event, bean, "PreDestroy");
     }
 
     /**
@@ -895,7 +2143,30 @@ public class Injector {
      */
     private boolean isSingleton(Class<?> type) {
         Scope scope = type.getAnnotation(Scope.class);
-        return (scope == null || ScopeType.SINGLETON == scope.value());
+        return (scope == null || (scope.name().isEmpty() && ScopeType.SINGLETON == scope.value()));
+    }
+
+    /**
+     * Determines the name of the scope a class belongs to when it is neither
+     * a singleton nor a prototype.
+     *
+     * @param type The class type.
+     * @return The scope name, or null for singletons and prototypes.
+     */
+    private String scopeNameOf(Class<?> type) {
+        Scope scope = type.getAnnotation(Scope.class);
+        if (scope == null) {
+            return null;
+        }
+        if (!scope.name().isEmpty()) {
+            return scope.name();
+        }
+        return switch (scope.value()) {
+            case THREAD -> ThreadScope.NAME;
+            case REQUEST -> RequestScope.NAME;
+            case POOLED -> PoolScope.NAME;
+            default -> null;
+        };
     }
 
     /**
@@ -908,137 +2179,250 @@ public class Injector {
     }
 
     /**
-     * Validates the dependencies of a bean by checking its constructor and
-     * field dependencies.
+     * Validates all registered beans without creating any of them. Every
+     * unsatisfied or ambiguous dependency and every dependency cycle is
+     * reported, not only the first one found.
      *
-     * @param beanType The class type of the bean.
-     * @throws BeanValidationException If any required dependencies are missing.
+     * @throws BeanValidationException If any bean is invalid; the message
+     * lists all problems, one per line.
      */
-    private void validateBeanDependencies(Class<?> beanType) throws BeanValidationException {
-        validateConstructorDependencies(beanType);
-        validateFieldDependencies(beanType);
+    public void validate() throws BeanValidationException {
+        DependencyGraph graph = buildDependencyGraph();
+        if (!graph.isValid()) {
+            throw new BeanValidationException("Bean validation failed:\n" + String.join("\n", graph.getProblems()));
+        }
     }
 
     /**
-     * Validates the dependencies required by a bean's constructor.
+     * Builds the dependency graph of all registered beans and collects every
+     * validation problem in one pass: injection points, including the targets
+     * of Lazy and Supplier points, that resolve to no bean or to several
+     * under the rules of {@link #resolve(Class)} and
+     * {@link #resolveQualified(Class, String)}, beans that cannot be
+     * instantiated, and dependency cycles. Each bean and each injection point
+     * is visited once.
      *
-     * @param beanType The class type of the bean.
-     * @throws BeanValidationException If any required dependencies are missing.
+     * @return The dependency graph.
      */
-    private void validateConstructorDependencies(Class<?> beanType) throws BeanValidationException {
-        Constructor<?> constructor = findInjectableConstructor(beanType);
-        if (constructor == null) {
-            return;
+    private DependencyGraph buildDependencyGraph() {
+        DependencyGraph graph = new DependencyGraph();
+        for (BeanDefinition definition : beanDefinitions.values()) {
+            graph.addNode(definition);
+            if (definition.getSupplier() != null) {
+                continue;
+            }
+            InjectionPlan plan;
+            try {
+                plan = InjectionPlan.of(definition.getType());
+            } catch (RuntimeException e) {
+                graph.addProblem("Bean " + definition.getKey() + " cannot be instantiated: " + e.getMessage());
+                continue;
+            }
+            addToGraph(graph, definition, plan.getConstructorParameters());
+            addToGraph(graph, definition, plan.getFieldPoints());
+            for (List<InjectionPoint> parameters : plan.getMethodParameters()) {
+                addToGraph(graph, definition, parameters);
+            }
         }
 
-        for (Parameter param : constructor.getParameters()) {
-            String qualifier = getQualifierFromParameter(param);
-            validateDependency(param.getType(), qualifier);
+        for (List<BeanDefinition> cycle : graph.findCycles()) {
+            graph.addProblem("Circular dependency: " + cycle.stream()
+                    .map(d -> d.getKey().toString())
+                    .collect(Collectors.joining(" -> ")));
         }
+        return graph;
     }
 
-    /**
-     * Validates the dependencies required by a bean's fields.
-     *
-     * @param beanType The class type of the bean.
-     * @throws BeanValidationException If any required dependencies are missing.
-     */
-    private void validateFieldDependencies(Class<?> beanType) throws BeanValidationException {
-        for (Field field : beanType.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                String qualifier = getQualifierFromField(field);
-                validateDependency(field.getType(), qualifier);
+    private void addToGraph(DependencyGraph graph, BeanDefinition definition, List<InjectionPoint> points) {
+        for (InjectionPoint point : points) {
+            if (point.getKind() == InjectionPoint.Kind.VALUE || point.getKind() == InjectionPoint.Kind.UNANNOTATED) {
+                continue;
+            }
+            try {
+                BeanDefinition dependency = definitionOf(point);
+                if (point.getKind() == InjectionPoint.Kind.PROXY) {
+                    String reason = LazyProxies.unsupportedReason(point.getType());
+                    if (reason != null) {
+                        graph.addProblem("Lazy dependency '" + point.getName() + "' of bean " + definition.getKey()
+                                + " cannot be proxied: " + reason + "; inject Lazy<"
+                                + point.getType().getSimpleName() + "> instead");
+                    }
+                }
+                if (point.getKind() == InjectionPoint.Kind.BEAN) {
+                    graph.addDependency(definition, dependency);
+                    // A pooled instance is handed over for good, so holding it is safe
+                    if (definition.isSingleton() && dependency.getScope() != null
+                            && !PoolScope.NAME.equals(dependency.getScope())) {
+                        graph.addProblem("Singleton " + definition.getKey() + " injects the " + dependency.getScope()
+                                + " scoped bean " + dependency.getKey() + " directly as '" + point.getName()
+                                + "'; inject a Supplier or Lazy instead");
+                    }
+                }
+            } catch (RuntimeException e) {
+                graph.addProblem("Unsatisfied dependency '" + point.getName() + "' of bean "
+                        + definition.getKey() + ": " + e.getMessage());
             }
         }
     }
 
     /**
-     * Validates that a required dependency exists in the bean definitions.
+     * Initializes all singleton beans that are not marked as lazy. This ensures
+     * eager initialization of required components.
+     * <p>
+     * When the configuration provides an initialization executor, the
+     * singletons are created in dependency-ordered waves: every singleton of a
+     * wave only depends on singletons of earlier waves, and the singletons of
+     * one wave are created concurrently on the executor. Each singleton is
+     * still created exactly once, guarded by its per-key lock.
      *
-     * @param type The class type of the dependency.
-     * @param qualifier The qualifier of the dependency.
-     * @throws BeanValidationException If the dependency is missing.
+     * @param graph The dependency graph of all definitions.
      */
-    private void validateDependency(Class<?> type, String qualifier) throws BeanValidationException {
-        BeanKey key = new BeanKey(type, qualifier);
-        if (!beanDefinitions.containsKey(key)) {
-            throw new BeanValidationException("Missing dependency: " + key);
+    private void initializeNonLazySingletons(DependencyGraph graph) {
+        List<BeanDefinition> eager = beanDefinitions.values().stream()
+                .filter(BeanDefinition::isSingleton)
+                .filter(definition -> !definition.isLazy())
+                .collect(Collectors.toList());
+
+        Executor executor = configuration.getInitializationExecutor();
+        if (executor == null || eager.size() < 2) {
+            eager.forEach(definition -> getOrCreateSingleton(definition.getKey(), definition));
+            return;
         }
-    }
 
-    /**
-     * Validates all registered beans to ensure their dependencies are correctly
-     * defined.
-     *
-     * @throws BeanValidationException If any bean validation fails.
-     */
-    private void validateBeans() throws BeanValidationException {
-        for (Map.Entry<BeanKey, BeanDefinition> entry : beanDefinitions.entrySet()) {
+        for (List<BeanDefinition> wave : initializationWaves(eager, graph)) {
+            CompletableFuture<?>[] creations = wave.stream()
+                    .map(definition -> CompletableFuture.runAsync(
+                            () -> getOrCreateSingleton(definition.getKey(), definition), executor))
+                    .toArray(CompletableFuture[]::new);
             try {
-                validateBeanDependencies(entry.getValue().getType());
-            } catch (BeanValidationException e) {
-                throw new BeanValidationException(
-                        "Validation failed for bean " + entry.getKey() + ": " + e.getMessage()
-                );
+                CompletableFuture.allOf(creations).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
             }
         }
     }
 
     /**
-     * Creates a Lazy<T> instance for a field with a generic type.
+     * Groups eager singletons into waves by their dependencies. A singleton
+     * depends on another eager singleton if it reaches it through its
+     * injection points, directly or through lazy singletons and prototypes
+     * that are created along with it. Singletons left over because of a
+     * dependency cycle form the last wave, where resolution reports the
+     * cycle.
      *
-     * @param field The field requiring lazy initialization.
-     * @return A Lazy<T> instance for the specified field type.
-     * @throws BeanCreationException If the field does not have a valid generic
-     * type.
+     * @param eager The eager singleton definitions.
+     * @param graph The dependency graph of all definitions.
+     * @return The waves, in creation order.
      */
-    private Object createLazyForField(Field field) throws BeanCreationException {
-        Type genericType = field.getGenericType();
-        if (genericType instanceof ParameterizedType parameterizedType) {
-            Type[] typeArgs = parameterizedType.getActualTypeArguments();
-            Class<?> targetType = (Class<?>) typeArgs[0];
-            return new Lazy<>(this, targetType);
+    private List<List<BeanDefinition>> initializationWaves(List<BeanDefinition> eager, DependencyGraph graph) {
+        Set<BeanDefinition> eagerSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        eagerSet.addAll(eager);
+        Map<BeanDefinition, Integer> pending = new IdentityHashMap<>();
+        Map<BeanDefinition, List<BeanDefinition>> dependents = new IdentityHashMap<>();
+        for (BeanDefinition definition : eager) {
+            Set<BeanDefinition> dependencies = eagerDependenciesOf(definition, eagerSet, graph);
+            pending.put(definition, dependencies.size());
+            for (BeanDefinition dependency : dependencies) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(definition);
+            }
         }
-        throw new BeanCreationException("Invalid Lazy type for field: " + field.getName());
-    }
 
-    /**
-     * Retrieves the qualifier value from a constructor parameter.
-     *
-     * @param param The parameter to inspect.
-     * @return The qualifier value if present, otherwise the lowercase simple
-     * name of the parameter type.
-     */
-    private String getQualifierFromParameter(Parameter param) {
-        Qualifier qualifier = param.getAnnotation(Qualifier.class);
-        return qualifier != null ? qualifier.value() : param.getType().getSimpleName().toLowerCase();
+        List<List<BeanDefinition>> waves = new ArrayList<>();
+        List<BeanDefinition> wave = eager.stream()
+                .filter(definition -> pending.get(definition) == 0)
+                .collect(Collectors.toList());
+        int scheduled = 0;
+        while (!wave.isEmpty()) {
+            waves.add(wave);
+            scheduled += wave.size();
+            List<BeanDefinition> next = new ArrayList<>();
+            for (BeanDefinition definition : wave) {
+                for (BeanDefinition dependent : dependents.getOrDefault(definition, Collections.emptyList())) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            wave = next;
+        }
+        if (scheduled < eager.size()) {
+            waves.add(eager.stream()
+                    .filter(definition -> pending.get(definition) > 0)
+                    .collect(Collectors.toList()));
+        }
+        return waves;
     }
 
     /**
-     * Retrieves the qualifier value from a field.
-     *
-     * @param field The field to inspect.
-     * @return The qualifier value if present, otherwise the lowercase simple
-     * name of the field type.
+     * Collects the eager singletons a definition reaches through its
+     * dependencies, following edges through definitions that are not eager.
      */
-    private String getQualifierFromField(Field field) {
-        Qualifier qualifier = field.getAnnotation(Qualifier.class);
-        return qualifier != null ? qualifier.value() : field.getType().getSimpleName().toLowerCase();
+    private Set<BeanDefinition> eagerDependenciesOf(BeanDefinition definition, Set<BeanDefinition> eager,
+            DependencyGraph graph) {
+        Set<BeanDefinition> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<BeanDefinition> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<BeanDefinition> pending = new ArrayDeque<>(graph.dependenciesOf(definition));
+        while (!pending.isEmpty()) {
+            BeanDefinition dependency = pending.pop();
+            if (dependency == definition || !visited.add(dependency)) {
+                continue;
+            }
+            if (eager.contains(dependency)) {
+                found.add(dependency);
+            } else {
+                pending.addAll(graph.dependenciesOf(dependency));
+            }
+        }
+        return found;
     }
 
     /**
-     * Initializes all singleton beans that are not marked as lazy. This ensures
-     * eager initialization of required components.
+     * Reflective fallback used when a class cannot be compiled into a method
+     * handle based factory.
      */
-    private void initializeNonLazySingletons() {
-        beanDefinitions.entrySet().stream()
-                .filter(entry -> entry.getValue().isSingleton())
-                .filter(entry -> !entry.getValue().isLazy())
-                .forEach(entry -> {
-                    BeanKey key = entry.getKey();
-                    if (!singletons.containsKey(key)) {
-                        singletons.put(key, createInstance(entry.getValue().getType()));
-                    }
-                });
+    private final class ReflectiveBeanFactory implements BeanFactory {
+
+        private final InjectionPlan plan;
+        private final MethodHandle[] asyncPostConstructMethods;
+
+        ReflectiveBeanFactory(InjectionPlan plan) {
+            this.plan = plan;
+            this.asyncPostConstructMethods = Injector.asyncPostConstructMethods(plan.getType());
+        }
+
+        @Override
+        public Class<?> getType() {
+            return plan.getType();
+        }
+
+        @Override
+        public Object create() {
+            Object[] parameters = resolveInjectionPoints(plan.getConstructorParameters());
+            Object instance;
+            try {
+                instance = plan.getConstructor().newInstance(parameters);
+            } catch (IllegalAccessException | IllegalArgumentException | InstantiationException
+                    | SecurityException | InvocationTargetException e) {
+                throw new BeanResolutionException("Error creating instance of " + plan.getType().getName(), e);
+            }
+            injectFields(instance, plan);
+            return instance;
+        }
+
+        @Override
+        public void postConstruct(Object bean) {
+            invokePostConstruct(bean);
+        }
+
+        @Override
+        public MethodHandle[] getAsyncPostConstructMethods() {
+            return asyncPostConstructMethods;
+        }
     }
 }
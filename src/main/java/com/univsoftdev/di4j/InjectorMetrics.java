@@ -0,0 +1,142 @@
+package com.univsoftdev.di4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * The runtime counters and latency histograms of an injector. Every counter
+ * is a {@link LongAdder}, so threads resolving beans concurrently update
+ * separate cells instead of contending on one value; counters are only
+ * summed when a snapshot is taken.
+ * <p>
+ * An injector only holds metrics while they are enabled, so resolution pays
+ * nothing for them otherwise.
+ */
+final class InjectorMetrics implements InjectorStatsMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(InjectorMetrics.class.getName());
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final Map<Class<?>, LongAdder> resolveCalls = new ConcurrentHashMap<>();
+    private final LongAdder singletonCacheHits = new LongAdder();
+    private final Map<BeanDefinition, LongAdder> prototypeInstantiations = new ConcurrentHashMap<>();
+    private final LatencyHistogram lazyFirstResolution = new LatencyHistogram();
+    private final LatencyHistogram postProcessorTime = new LatencyHistogram();
+    private final AtomicReference<ObjectName> objectName = new AtomicReference<>();
+
+    /**
+     * Creates the metrics of an injector and publishes them as an MXBean on
+     * the platform MBean server. A failed registration, for instance because
+     * the name is taken, is logged and leaves the metrics usable through
+     * {@link Injector#stats()}.
+     *
+     * @param name The name key of the ObjectName, quoted so that any string
+     * is valid, or null to generate one.
+     * @return The metrics.
+     */
+    static InjectorMetrics register(String name) {
+        InjectorMetrics metrics = new InjectorMetrics();
+        try {
+            ObjectName objectName = new ObjectName("com.univsoftdev.di4j:type=Injector,name="
+                    + (name != null ? ObjectName.quote(name) : "injector-" + SEQUENCE.incrementAndGet()));
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new StandardMBean(metrics, InjectorStatsMXBean.class, true), objectName);
+            metrics.objectName.set(objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Cannot register the injector metrics MBean", e);
+        }
+        return metrics;
+    }
+
+    /**
+     * Removes the MXBean from the platform MBean server, if it was
+     * registered. Only the first of concurrent calls unregisters it.
+     */
+    void unregister() {
+        ObjectName registered = objectName.getAndSet(null);
+        if (registered == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(registered);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Cannot unregister the injector metrics MBean " + registered, e);
+        }
+    }
+
+    void resolved(Class<?> type) {
+        counter(resolveCalls, type).increment();
+    }
+
+    void singletonHit() {
+        singletonCacheHits.increment();
+    }
+
+    void prototypeCreated(BeanDefinition definition) {
+        counter(prototypeInstantiations, definition).increment();
+    }
+
+    void lazyResolved(long nanos) {
+        lazyFirstResolution.record(nanos);
+    }
+
+    void postProcessed(long nanos) {
+        postProcessorTime.record(nanos);
+    }
+
+    /**
+     * Returns the counter of a key. The plain lookup avoids the locking of
+     * {@link ConcurrentHashMap#computeIfAbsent} once the counter exists.
+     */
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    InjectorStats snapshot() {
+        return new InjectorStats(getResolveCalls(), getSingletonCacheHits(), getPrototypeInstantiations(),
+                getLazyFirstResolution(), getPostProcessorTime());
+    }
+
+    @Override
+    public Map<String, Long> getResolveCalls() {
+        Map<String, Long> counts = new HashMap<>();
+        resolveCalls.forEach((type, counter) -> counts.put(type.getName(), counter.sum()));
+        return counts;
+    }
+
+    @Override
+    public long getSingletonCacheHits() {
+        return singletonCacheHits.sum();
+    }
+
+    @Override
+    public Map<String, Long> getPrototypeInstantiations() {
+        Map<String, Long> counts = new HashMap<>();
+        prototypeInstantiations.forEach((definition, counter)
+                -> counts.merge(definition.getKey().toString(), counter.sum(), Long::sum));
+        return counts;
+    }
+
+    @Override
+    public InjectorStats.Latency getLazyFirstResolution() {
+        return lazyFirstResolution.snapshot();
+    }
+
+    @Override
+    public InjectorStats.Latency getPostProcessorTime() {
+        return postProcessorTime.snapshot();
+    }
+}
@@ -0,0 +1,130 @@
+package com.univsoftdev.di4j;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A snapshot of the runtime metrics of an injector, returned by
+ * {@link Injector#stats()} when {@link Configuration#setMetricsEnabled(boolean)}
+ * is enabled. The counters are cumulative since the injector was created.
+ * The same values are published through the {@link InjectorStatsMXBean}
+ * registered on the platform MBean server.
+ */
+public final class InjectorStats {
+
+    private final Map<String, Long> resolveCalls;
+    private final long singletonCacheHits;
+    private final Map<String, Long> prototypeInstantiations;
+    private final Latency lazyFirstResolution;
+    private final Latency postProcessorTime;
+
+    InjectorStats(Map<String, Long> resolveCalls, long singletonCacheHits,
+            Map<String, Long> prototypeInstantiations, Latency lazyFirstResolution, Latency postProcessorTime) {
+        this.resolveCalls = Collections.unmodifiableMap(resolveCalls);
+        this.singletonCacheHits = singletonCacheHits;
+        this.prototypeInstantiations = Collections.unmodifiableMap(prototypeInstantiations);
+        this.lazyFirstResolution = lazyFirstResolution;
+        this.postProcessorTime = postProcessorTime;
+    }
+
+    /**
+     * Returns the number of calls to {@link Injector#resolve(Class)} and
+     * {@link Injector#resolveQualified(Class, String)}, by the class name of
+     * the requested type.
+     */
+    public Map<String, Long> getResolveCalls() {
+        return resolveCalls;
+    }
+
+    /**
+     * Returns how many times an existing singleton was returned instead of
+     * being created, including singletons injected as dependencies.
+     */
+    public long getSingletonCacheHits() {
+        return singletonCacheHits;
+    }
+
+    /**
+     * Returns the number of prototype instances created, by bean key.
+     */
+    public Map<String, Long> getPrototypeInstantiations() {
+        return prototypeInstantiations;
+    }
+
+    /**
+     * Returns the latency of the first {@link Lazy#get()} of each Lazy
+     * reference, the only call that resolves the bean.
+     */
+    public Latency getLazyFirstResolution() {
+        return lazyFirstResolution;
+    }
+
+    /**
+     * Returns the time spent applying the bean post-processors, one sample
+     * per bean and phase.
+     */
+    public Latency getPostProcessorTime() {
+        return postProcessorTime;
+    }
+
+    @Override
+    public String toString() {
+        return "InjectorStats{resolveCalls=" + resolveCalls
+                + ", singletonCacheHits=" + singletonCacheHits
+                + ", prototypeInstantiations=" + prototypeInstantiations
+                + ", lazyFirstResolution=" + lazyFirstResolution
+                + ", postProcessorTime=" + postProcessorTime + '}';
+    }
+
+    /**
+     * The distribution of a latency. Percentiles come from power of two
+     * buckets and are the upper bound of the bucket, so they overestimate by
+     * less than a factor of two.
+     */
+    public static final class Latency {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        Latency(long count, long totalNanos, long maxNanos, long p50Nanos, long p99Nanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", meanNanos=" + getMeanNanos() + ", p50Nanos=" + p50Nanos
+                    + ", p99Nanos=" + p99Nanos + ", maxNanos=" + maxNanos + '}';
+        }
+    }
+}
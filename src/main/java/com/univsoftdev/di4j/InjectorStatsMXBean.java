@@ -0,0 +1,23 @@
+package com.univsoftdev.di4j;
+
+import java.util.Map;
+
+/**
+ * The runtime metrics of an injector as an MXBean, registered on the platform
+ * MBean server as {@code com.univsoftdev.di4j:type=Injector,name=<name>}
+ * while {@link Configuration#setMetricsEnabled(boolean)} is enabled. Every
+ * attribute reads the live counters; see {@link InjectorStats} for their
+ * meaning.
+ */
+public interface InjectorStatsMXBean {
+
+    Map<String, Long> getResolveCalls();
+
+    long getSingletonCacheHits();
+
+    Map<String, Long> getPrototypeInstantiations();
+
+    InjectorStats.Latency getLazyFirstResolution();
+
+    InjectorStats.Latency getPostProcessorTime();
+}
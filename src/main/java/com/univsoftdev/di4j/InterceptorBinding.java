@@ -1,5 +1,33 @@
 package com.univsoftdev.di4j;
 
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * The interceptors a module binds to the methods selected by a class and a
+ * method matcher.
+ */
 class InterceptorBinding {
-    
+
+    private final Matcher<Class<?>> classMatcher;
+    private final Matcher<Method> methodMatcher;
+    private final List<MethodInterceptor> interceptors;
+
+    InterceptorBinding(Matcher<Class<?>> classMatcher, Matcher<Method> methodMatcher,
+            MethodInterceptor... interceptors) {
+        this.classMatcher = classMatcher;
+        this.methodMatcher = methodMatcher;
+        this.interceptors = List.of(interceptors);
+    }
+
+    /**
+     * Returns whether the interceptors apply to a method of a class.
+     */
+    boolean matches(Class<?> type, Method method) {
+        return classMatcher.matches(type) && methodMatcher.matches(method);
+    }
+
+    List<MethodInterceptor> getInterceptors() {
+        return interceptors;
+    }
 }
@@ -0,0 +1,73 @@
+package com.univsoftdev.di4j;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with one bucket per power of two
+ * nanoseconds. Bucket {@code i} counts the samples in
+ * {@code [2^(i-1), 2^i)}, and bucket 0 the samples of zero nanoseconds, so
+ * percentiles are accurate to within a factor of two. Every bucket is a
+ * {@link LongAdder}, so concurrent recorders do not contend on one counter.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one sample. Negative durations, which a non-monotonic clock
+     * cannot produce but a caller might, count as zero.
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Returns a snapshot of the samples recorded so far. Samples recorded
+     * while the snapshot is taken may be partially included.
+     */
+    InjectorStats.Latency snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long max = maxNanos.get();
+        return new InjectorStats.Latency(count, totalNanos.sum(), max,
+                percentile(counts, count, max, 0.5), percentile(counts, count, max, 0.99));
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile,
+     * capped at the largest sample.
+     */
+    private static long percentile(long[] counts, long count, long max, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBound = i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upperBound, max);
+            }
+        }
+        return max;
+    }
+}
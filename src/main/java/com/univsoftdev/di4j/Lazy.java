@@ -1,34 +1,71 @@
 package com.univsoftdev.di4j;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 public class Lazy<T> {
 
-    private final Injector injector;
-    private final Class<T> type;
-    private volatile T instance;
-    private final String qualifier;
+    /**
+     * The {@link Resolution} until the bean is resolved, then the bean. Once
+     * resolved, a Lazy no longer references the injector, the type or the
+     * lock.
+     */
+    private volatile Object value;
 
     public Lazy(Injector injector, Class<T> type) {
-        this.injector = injector;
-        this.type = type;
-        this.qualifier = null;
+        this.value = new Resolution(injector, type, null);
     }
 
     public Lazy(Injector injector, Class<T> type, String qualifier) {
-        this.injector = injector;
-        this.type = type;
-        this.qualifier = qualifier;
+        this.value = new Resolution(injector, type, qualifier);
     }
 
+    @SuppressWarnings("unchecked")
     public T get() {
-        if (instance == null) {
-            synchronized (this) {
-                if (instance == null) {
-                    instance = (qualifier != null)
-                            ? injector.resolveQualified(type, qualifier)
-                            : injector.resolve(type);
+        Object current = value;
+        if (current instanceof Resolution resolution) {
+            current = resolution.resolve(this);
+        }
+        return (T) current;
+    }
+
+    /**
+     * What a Lazy needs to resolve its bean.
+     */
+    private static final class Resolution {
+
+        /**
+         * Guards the first resolution. A lock rather than a monitor, so that
+         * virtual threads waiting for a slow bean unmount instead of pinning
+         * their carrier thread.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Injector injector;
+        private final Class<?> type;
+        private final String qualifier;
+
+        Resolution(Injector injector, Class<?> type, String qualifier) {
+            this.injector = injector;
+            this.type = type;
+            this.qualifier = qualifier;
+        }
+
+        Object resolve(Lazy<?> lazy) {
+            lock.lock();
+            try {
+                Object current = lazy.value;
+                if (current != this) {
+                    return current;
                 }
+                long start = System.nanoTime();
+                Object instance = (qualifier != null)
+                        ? injector.resolveQualified(type, qualifier)
+                        : injector.resolve(type);
+                injector.recordLazyResolution(System.nanoTime() - start);
+                lazy.value = instance;
+                return instance;
+            } finally {
+                lock.unlock();
             }
         }
-        return instance;
     }
 }
@@ -0,0 +1,424 @@
+package com.univsoftdev.di4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.univsoftdev.di4j.exceptions.BeanResolutionException;
+
+/**
+ * Creates the proxies injected into fields and constructor parameters
+ * annotated with @Lazy. A proxy holds a {@link Lazy} and implements every
+ * overridable method of the injected type by resolving the bean through it
+ * and calling the same method on the bean:
+ * <pre>{@code
+ * public String greet(String name) {
+ *     return ((Greeter) lazy.get()).greet(name);
+ * }
+ * }</pre>
+ * Once the bean is resolved, a call costs a volatile read and a type check
+ * more than a direct call, which the JIT compiler inlines.
+ * <p>
+ * The proxy class of each type is generated once as a hidden class in the
+ * package of the type, so it can implement package-private types and
+ * override package-private methods. Types of another class loader get a
+ * regular class in their package instead, and public interfaces of packages
+ * closed to di4j, such as the JDK's, a hidden class in the di4j package.
+ * Interfaces can always be proxied.
+ * Classes must be neither final nor sealed and need a non-private
+ * constructor without parameters, which runs once for every proxy; their
+ * final methods run on the proxy itself instead of the bean.
+ */
+final class LazyProxies {
+
+    private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return generate(type);
+        }
+    };
+
+    private static final String LAZY = Lazy.class.getName().replace('.', '/');
+    private static final String LAZY_DESCRIPTOR = "L" + LAZY + ";";
+
+    private LazyProxies() {
+    }
+
+    /**
+     * Returns why a type cannot be proxied, or null if it can.
+     *
+     * @param type The declared type of the injection point.
+     * @return The reason, for error messages.
+     */
+    static String unsupportedReason(Class<?> type) {
+        if (type.isPrimitive() || type.isArray()) {
+            return type.getSimpleName() + " is not a class or interface";
+        }
+        if (type.isSealed()) {
+            return type.getName() + " is sealed";
+        }
+        if (type.isInterface()) {
+            return null;
+        }
+        if (Modifier.isFinal(type.getModifiers())) {
+            return type.getName() + " is final";
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            if (Modifier.isPrivate(constructor.getModifiers())) {
+                return type.getName() + " has a private constructor";
+            }
+        } catch (NoSuchMethodException e) {
+            return type.getName() + " has no constructor without parameters";
+        }
+        return null;
+    }
+
+    /**
+     * Creates a proxy of a type that resolves its bean through a Lazy.
+     *
+     * @param type The declared type of the injection point.
+     * @param lazy The Lazy resolving the bean.
+     * @return The proxy, an instance of the type.
+     * @throws BeanResolutionException If the type cannot be proxied.
+     */
+    static Object create(Class<?> type, Lazy<?> lazy) {
+        try {
+            return CONSTRUCTORS.get(type).invoke(lazy);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeanResolutionException("Error creating the lazy proxy of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Generates the proxy class of a type and returns its constructor.
+     */
+    private static MethodHandle generate(Class<?> type) {
+        String reason = unsupportedReason(type);
+        if (reason != null) {
+            throw new BeanResolutionException("Cannot create a lazy proxy: " + reason
+                    + "; inject Lazy<" + type.getSimpleName() + "> instead");
+        }
+        try {
+            MethodHandles.Lookup lookup;
+            String name;
+            try {
+                lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                name = type.getName().replace('.', '/') + "$$LazyProxy";
+            } catch (IllegalAccessException e) {
+                if (!type.isInterface() || !Modifier.isPublic(type.getModifiers())) {
+                    throw e;
+                }
+                // The package of the type is not open to di4j, as in the JDK; its public interfaces are enough
+                lookup = MethodHandles.lookup();
+                name = LazyProxies.class.getPackageName().replace('.', '/') + "/"
+                        + type.getName().replace('.', '_') + "$$LazyProxy";
+            }
+            byte[] bytes = new ProxyWriter(type, name, proxiedMethods(type)).toByteArray();
+            MethodHandles.Lookup proxy;
+            if (lookup.hasFullPrivilegeAccess()) {
+                proxy = lookup.defineHiddenClass(bytes, true);
+            } else {
+                // Types loaded by another class loader get a regular class in their package
+                proxy = lookup.in(defineClass(lookup, bytes, name));
+            }
+            return proxy.findConstructor(proxy.lookupClass(), MethodType.methodType(void.class, Lazy.class))
+                    .asType(MethodType.methodType(Object.class, Lazy.class));
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new BeanResolutionException("Cannot create a lazy proxy of " + type.getName(), e);
+        }
+    }
+
+    private static Class<?> defineClass(MethodHandles.Lookup lookup, byte[] bytes, String name)
+            throws IllegalAccessException {
+        try {
+            return lookup.defineClass(bytes);
+        } catch (LinkageError e) {
+            // Another thread defined the class first
+            try {
+                return Class.forName(name.replace('/', '.'), false, lookup.lookupClass().getClassLoader());
+            } catch (ClassNotFoundException notFound) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Lists the methods a proxy overrides: the public methods of the type,
+     * plus its non-public methods declared in its own package, except static
+     * and final ones. Interface proxies also delegate equals, hashCode and
+     * toString.
+     */
+    private static List<Method> proxiedMethods(Class<?> type) {
+        // The most specific declaration of each signature decides whether it can be overridden
+        Map<String, Method> methods = new LinkedHashMap<>();
+        if (type.isInterface()) {
+            for (Method method : Object.class.getMethods()) {
+                methods.putIfAbsent(method.getName() + descriptor(method), method);
+            }
+        }
+        for (Method method : type.getMethods()) {
+            methods.putIfAbsent(method.getName() + descriptor(method), method);
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (!current.getPackageName().equals(type.getPackageName())
+                    || current.getClassLoader() != type.getClassLoader()) {
+                continue;
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (!Modifier.isPrivate(method.getModifiers())) {
+                    methods.putIfAbsent(method.getName() + descriptor(method), method);
+                }
+            }
+        }
+        List<Method> proxied = new ArrayList<>();
+        for (Method method : methods.values()) {
+            int modifiers = method.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+                proxied.add(method);
+            }
+        }
+        return proxied;
+    }
+
+    private static String descriptor(Method method) {
+        return MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+    }
+
+    /**
+     * Writes the class file of a proxy. The generated code has no branches,
+     * so it needs no stack map frames.
+     */
+    private static final class ProxyWriter {
+
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_PRIVATE = 0x0002;
+        private static final int ACC_PROTECTED = 0x0004;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+        private static final int ACC_SYNTHETIC = 0x1000;
+
+        private static final int ALOAD_0 = 0x2A;
+        private static final int ALOAD_1 = 0x2B;
+        private static final int CHECKCAST = 0xC0;
+        private static final int GETFIELD = 0xB4;
+        private static final int PUTFIELD = 0xB5;
+        private static final int INVOKEVIRTUAL = 0xB6;
+        private static final int INVOKESPECIAL = 0xB7;
+        private static final int INVOKEINTERFACE = 0xB9;
+        private static final int RETURN = 0xB1;
+
+        private final ByteArrayOutputStream constantBytes = new ByteArrayOutputStream();
+        private final DataOutputStream constants = new DataOutputStream(constantBytes);
+        private final Map<String, Integer> constantIndexes = new HashMap<>();
+        private int constantCount = 1;
+
+        private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        ProxyWriter(Class<?> type, String name, List<Method> methods) {
+            try {
+                String target = internalName(type);
+                String superName = type.isInterface() ? "java/lang/Object" : target;
+                body.writeShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+                body.writeShort(classConstant(name));
+                body.writeShort(classConstant(superName));
+                if (type.isInterface()) {
+                    body.writeShort(1);
+                    body.writeShort(classConstant(target));
+                } else {
+                    body.writeShort(0);
+                }
+
+                body.writeShort(1);
+                body.writeShort(ACC_PRIVATE | ACC_FINAL);
+                body.writeShort(utf8("lazy"));
+                body.writeShort(utf8(LAZY_DESCRIPTOR));
+                body.writeShort(0);
+
+                body.writeShort(methods.size() + 1);
+                writeConstructor(name, superName);
+                for (Method method : methods) {
+                    writeMethod(name, type, method);
+                }
+                body.writeShort(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeConstructor(String name, String superName) throws IOException {
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            code.write(ALOAD_0);
+            code.write(INVOKESPECIAL);
+            writeShort(code, memberConstant(10, superName, "<init>", "()V"));
+            code.write(ALOAD_0);
+            code.write(ALOAD_1);
+            code.write(PUTFIELD);
+            writeShort(code, memberConstant(9, name, "lazy", LAZY_DESCRIPTOR));
+            code.write(RETURN);
+            writeMethodInfo(ACC_PUBLIC, "<init>", "(" + LAZY_DESCRIPTOR + ")V", code.toByteArray(), 2, 2);
+        }
+
+        private void writeMethod(String name, Class<?> type, Method method) throws IOException {
+            String descriptor = descriptor(method);
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            code.write(ALOAD_0);
+            code.write(GETFIELD);
+            writeShort(code, memberConstant(9, name, "lazy", LAZY_DESCRIPTOR));
+            code.write(INVOKEVIRTUAL);
+            writeShort(code, memberConstant(10, LAZY, "get", "()Ljava/lang/Object;"));
+            code.write(CHECKCAST);
+            writeShort(code, classConstant(internalName(type)));
+
+            int slot = 1;
+            for (Class<?> parameter : method.getParameterTypes()) {
+                code.write(loadOpcode(parameter));
+                code.write(slot);
+                slot += size(parameter);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                code.write(INVOKEVIRTUAL);
+                writeShort(code, memberConstant(10, "java/lang/Object", method.getName(), descriptor));
+            } else if (type.isInterface()) {
+                code.write(INVOKEINTERFACE);
+                writeShort(code, memberConstant(11, internalName(type), method.getName(), descriptor));
+                code.write(slot);
+                code.write(0);
+            } else {
+                code.write(INVOKEVIRTUAL);
+                writeShort(code, memberConstant(10, internalName(type), method.getName(), descriptor));
+            }
+            code.write(returnOpcode(method.getReturnType()));
+
+            int access = method.getModifiers() & (ACC_PUBLIC | ACC_PROTECTED);
+            int maxStack = Math.max(slot, size(method.getReturnType()));
+            writeMethodInfo(access, method.getName(), descriptor, code.toByteArray(), maxStack, slot);
+        }
+
+        private void writeMethodInfo(int access, String name, String descriptor, byte[] code, int maxStack,
+                int maxLocals) throws IOException {
+            body.writeShort(access);
+            body.writeShort(utf8(name));
+            body.writeShort(utf8(descriptor));
+            body.writeShort(1);
+            body.writeShort(utf8("Code"));
+            body.writeInt(12 + code.length);
+            body.writeShort(maxStack);
+            body.writeShort(maxLocals);
+            body.writeInt(code.length);
+            body.write(code);
+            body.writeShort(0);
+            body.writeShort(0);
+        }
+
+        byte[] toByteArray() {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(61);
+                out.writeShort(constantCount);
+                constants.flush();
+                out.write(constantBytes.toByteArray());
+                body.flush();
+                out.write(bodyBytes.toByteArray());
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int utf8(String value) throws IOException {
+            Integer index = constantIndexes.get("utf8:" + value);
+            if (index == null) {
+                constants.writeByte(1);
+                constants.writeUTF(value);
+                index = constantCount++;
+                constantIndexes.put("utf8:" + value, index);
+            }
+            return index;
+        }
+
+        private int classConstant(String internalName) throws IOException {
+            Integer index = constantIndexes.get("class:" + internalName);
+            if (index == null) {
+                int nameIndex = utf8(internalName);
+                constants.writeByte(7);
+                constants.writeShort(nameIndex);
+                index = constantCount++;
+                constantIndexes.put("class:" + internalName, index);
+            }
+            return index;
+        }
+
+        /**
+         * Returns a field (tag 9), method (10) or interface method (11)
+         * reference.
+         */
+        private int memberConstant(int tag, String owner, String name, String descriptor) throws IOException {
+            String key = tag + ":" + owner + "." + name + descriptor;
+            Integer index = constantIndexes.get(key);
+            if (index == null) {
+                int ownerIndex = classConstant(owner);
+                int nameIndex = utf8(name);
+                int descriptorIndex = utf8(descriptor);
+                constants.writeByte(12);
+                constants.writeShort(nameIndex);
+                constants.writeShort(descriptorIndex);
+                int nameAndType = constantCount++;
+                constants.writeByte(tag);
+                constants.writeShort(ownerIndex);
+                constants.writeShort(nameAndType);
+                index = constantCount++;
+                constantIndexes.put(key, index);
+            }
+            return index;
+        }
+
+        private static void writeShort(ByteArrayOutputStream code, int value) {
+            code.write(value >>> 8);
+            code.write(value);
+        }
+
+        private static String internalName(Class<?> type) {
+            return type.getName().replace('.', '/');
+        }
+
+        private static int size(Class<?> type) {
+            return type == void.class ? 0 : type == long.class || type == double.class ? 2 : 1;
+        }
+
+        private static int loadOpcode(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return 0x19;
+            }
+            return type == long.class ? 0x16 : type == float.class ? 0x17 : type == double.class ? 0x18 : 0x15;
+        }
+
+        private static int returnOpcode(Class<?> type) {
+            if (type == void.class) {
+                return RETURN;
+            }
+            if (!type.isPrimitive()) {
+                return 0xB0;
+            }
+            return type == long.class ? 0xAD : type == float.class ? 0xAE : type == double.class ? 0xAF : 0xAC;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.univsoftdev.di4j;
+
+/**
+ * Selects the classes or methods an interceptor is bound to in
+ * {@link AbstractModule#bindInterceptor}.
+ *
+ * @param <T> The type of the matched element, a class or a method.
+ */
+@FunctionalInterface
+public interface Matcher<T> {
+
+    /**
+     * Returns whether an element is selected.
+     *
+     * @param target The class or method to test.
+     * @return True if the element matches.
+     */
+    boolean matches(T target);
+}
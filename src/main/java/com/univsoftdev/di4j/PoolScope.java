@@ -0,0 +1,94 @@
+package com.univsoftdev.di4j;
+
+import com.univsoftdev.di4j.annotations.Pool;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The scope of beans annotated with {@code @Scope(ScopeType.POOLED)}:
+ * expensive beans whose instances are reused instead of being created for
+ * every resolution. Each bean has its own lock-free pool, sized by its
+ * {@link Pool} annotation.
+ * <p>
+ * {@link Injector#borrow(Class)} lends an instance that returns to the pool
+ * when the borrow is closed, after its @PoolReset methods have run. A
+ * regular resolution or injection also takes an idle instance if there is
+ * one, but hands it over for good, like a prototype.
+ */
+public final class PoolScope implements BeanScope {
+
+    /**
+     * The name the scope is registered under.
+     */
+    public static final String NAME = "pooled";
+
+    private final Map<BeanDefinition, BeanPool> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(ScopedBean bean) {
+        return pool(bean).take();
+    }
+
+    /**
+     * Borrows an instance of a bean until the returned handle is closed.
+     */
+    <T> Pooled<T> borrow(ScopedBean bean, Class<T> type) {
+        BeanPool pool = pool(bean);
+        return new Pooled<>(pool, type.cast(pool.take()));
+    }
+
+    private BeanPool pool(ScopedBean bean) {
+        BeanPool pool = pools.get(bean.getDefinition());
+        return pool != null
+                ? pool
+                : pools.computeIfAbsent(bean.getDefinition(), d -> new BeanPool(bean, capacityOf(d)));
+    }
+
+    private static int capacityOf(BeanDefinition definition) {
+        Pool pool = definition.getType().getAnnotation(Pool.class);
+        int size = pool != null ? pool.size() : 0;
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative pool size " + size + " for " + definition.getKey());
+        }
+        return size > 0 ? size : 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns a snapshot of the counters of every pool created so far, by
+     * bean key.
+     */
+    public Map<String, PoolStats> stats() {
+        Map<String, PoolStats> stats = new HashMap<>();
+        pools.forEach((definition, pool) -> stats.put(definition.getKey().toString(), pool.stats()));
+        return stats;
+    }
+
+    /**
+     * Destroys the idle instances of every pool. Instances borrowed at the
+     * time are destroyed when they are returned; later borrows start new
+     * pools.
+     */
+    @Override
+    public void destroy() {
+        RuntimeException failure = null;
+        for (BeanDefinition definition : pools.keySet()) {
+            BeanPool pool = pools.remove(definition);
+            if (pool == null) {
+                continue;
+            }
+            try {
+                pool.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
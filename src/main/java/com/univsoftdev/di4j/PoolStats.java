@@ -0,0 +1,125 @@
+package com.univsoftdev.di4j;
+
+/**
+ * A snapshot of the counters of one bean pool, returned by
+ * {@link PoolScope#stats()}. The counters are cumulative since the pool was
+ * created.
+ * <p>
+ * Savings are estimates: every hit is assumed to have saved the mean cost of
+ * the creations the pool did have to make. Creation costs include the
+ * dependencies created along with the instance.
+ */
+public final class PoolStats {
+
+    private final int capacity;
+    private final int idle;
+    private final long hits;
+    private final long misses;
+    private final long returns;
+    private final long discards;
+    private final long creationNanos;
+    private final long creationBytes;
+
+    PoolStats(int capacity, int idle, long hits, long misses, long returns, long discards, long creationNanos,
+            long creationBytes) {
+        this.capacity = capacity;
+        this.idle = idle;
+        this.hits = hits;
+        this.misses = misses;
+        this.returns = returns;
+        this.discards = discards;
+        this.creationNanos = creationNanos;
+        this.creationBytes = creationBytes;
+    }
+
+    /**
+     * Returns the maximum number of idle instances.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of idle instances when the snapshot was taken.
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * Returns how many times an idle instance was reused.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns how many times the pool was empty and created an instance.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns how many instances were kept for reuse when they were
+     * returned.
+     */
+    public long getReturns() {
+        return returns;
+    }
+
+    /**
+     * Returns how many instances were destroyed when they were returned,
+     * because the pool was full or closed or their reset failed.
+     */
+    public long getDiscards() {
+        return discards;
+    }
+
+    /**
+     * Returns the share of requests served by an idle instance, from 0 to 1.
+     */
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    public long getMeanCreationNanos() {
+        return misses == 0 ? 0 : creationNanos / misses;
+    }
+
+    /**
+     * Returns the mean number of bytes allocated by a creation, or -1 if the
+     * JVM cannot count allocations per thread.
+     */
+    public long getMeanCreationBytes() {
+        return creationBytes < 0 ? -1 : misses == 0 ? 0 : creationBytes / misses;
+    }
+
+    /**
+     * Returns the estimated creation time saved by the hits.
+     */
+    public long getSavedNanos() {
+        return hits * getMeanCreationNanos();
+    }
+
+    /**
+     * Returns the estimated bytes the hits did not allocate, or -1 if the
+     * JVM cannot count allocations per thread.
+     */
+    public long getSavedBytes() {
+        return creationBytes < 0 ? -1 : hits * getMeanCreationBytes();
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{capacity=" + capacity
+                + ", idle=" + idle
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", returns=" + returns
+                + ", discards=" + discards
+                + ", savedNanos=" + getSavedNanos()
+                + ", savedBytes=" + getSavedBytes() + '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.univsoftdev.di4j;
+
+/**
+ * An instance of a pooled bean borrowed with {@link Injector#borrow(Class)}.
+ * Closing it resets the instance and returns it to the pool, so it is meant
+ * for try-with-resources:
+ * <pre>{@code
+ * try (Pooled<Parser> parser = injector.borrow(Parser.class)) {
+ *     return parser.get().parse(text);
+ * }
+ * }</pre>
+ * The instance must not be used after the borrow is closed.
+ *
+ * @param <T> The type of the bean.
+ */
+public final class Pooled<T> implements AutoCloseable {
+
+    private final BeanPool pool;
+    private T instance;
+
+    Pooled(BeanPool pool, T instance) {
+        this.pool = pool;
+        this.instance = instance;
+    }
+
+    /**
+     * Returns the borrowed instance.
+     *
+     * @throws IllegalStateException If the instance was returned.
+     */
+    public T get() {
+        T current = instance;
+        if (current == null) {
+            throw new IllegalStateException("The pooled " + pool.getBean().getDefinition().getKey()
+                    + " was already returned");
+        }
+        return current;
+    }
+
+    /**
+     * Returns the instance to the pool. Closing a returned borrow does
+     * nothing.
+     */
+    @Override
+    public void close() {
+        T current = instance;
+        if (current != null) {
+            instance = null;
+            pool.release(current);
+        }
+    }
+}
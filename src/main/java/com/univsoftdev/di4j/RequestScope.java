@@ -0,0 +1,151 @@
+package com.univsoftdev.di4j;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The scope of beans annotated with {@code @Scope(ScopeType.REQUEST)}: each
+ * request gets its own instance, shared by every injection point resolved
+ * while the request is active. A request is a {@link Context} opened with
+ * {@link #begin()}; its instances are kept in one slot array and destroyed
+ * together when it is closed.
+ * <pre>
+ * try (RequestScope.Context request = injector.getRequestScope().begin()) {
+ *     handler.handle();
+ *     executor.submit(request.wrap(() -&gt; audit.record()));
+ * }
+ * </pre>
+ * A context is safe to use from several threads at once. Work handed off to
+ * another thread, such as a virtual thread per task, joins the request when
+ * it is wrapped with {@link Context#wrap(Runnable)} or
+ * {@link Context#wrap(Callable)}.
+ */
+public final class RequestScope implements BeanScope {
+
+    /**
+     * The name the scope is registered under.
+     */
+    public static final String NAME = "request";
+
+    private final ThreadLocal<Context> current = new ThreadLocal<>();
+    private final Set<Context> open = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts a request and makes it the current request of the calling
+     * thread until it is closed.
+     *
+     * @return The request context.
+     */
+    public Context begin() {
+        Context context = new Context();
+        open.add(context);
+        context.previous = current.get();
+        context.owner = Thread.currentThread();
+        current.set(context);
+        return context;
+    }
+
+    /**
+     * Returns the current request of the calling thread, or null.
+     */
+    public Context current() {
+        return current.get();
+    }
+
+    @Override
+    public Object get(ScopedBean bean) {
+        Context context = current.get();
+        if (context == null) {
+            throw new IllegalStateException("No request is active on thread " + Thread.currentThread().getName()
+                    + " to resolve " + bean.getDefinition().getKey());
+        }
+        return context.instances.get(bean);
+    }
+
+    /**
+     * Closes every open request.
+     */
+    @Override
+    public void destroy() {
+        for (Context context : open) {
+            open.remove(context);
+            context.instances.close();
+        }
+    }
+
+    private void attach(Context context, Runnable task) {
+        Context previous = current.get();
+        current.set(context);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    private void restore(Context previous) {
+        if (previous != null) {
+            current.set(previous);
+        } else {
+            current.remove();
+        }
+    }
+
+    /**
+     * One request. Closing it destroys its instances in the reverse order of
+     * their creation.
+     */
+    public final class Context implements AutoCloseable {
+
+        private final ScopeContext instances = new ScopeContext();
+        private Context previous;
+        private Thread owner;
+
+        private Context() {
+        }
+
+        /**
+         * Returns a task that runs in this request on whatever thread
+         * executes it.
+         */
+        public Runnable wrap(Runnable task) {
+            return () -> attach(this, task);
+        }
+
+        /**
+         * Returns a task that runs in this request on whatever thread
+         * executes it.
+         */
+        public <V> Callable<V> wrap(Callable<V> task) {
+            return () -> {
+                Context previous = current.get();
+                current.set(this);
+                try {
+                    return task.call();
+                } finally {
+                    restore(previous);
+                }
+            };
+        }
+
+        public boolean isClosed() {
+            return instances.isClosed();
+        }
+
+        /**
+         * Ends the request. If it is the current request of the calling
+         * thread, the request that was current before {@link #begin()}
+         * becomes current again. Tasks still running in the request fail to
+         * resolve new request beans.
+         */
+        @Override
+        public void close() {
+            if (Thread.currentThread() == owner && current.get() == this) {
+                restore(previous);
+            }
+            open.remove(this);
+            instances.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.univsoftdev.di4j;
+
+/**
+ * How {@link ClassScanner} decides whether a class on the classpath is a
+ * component.
+ */
+public enum ScanMode {
+    /**
+     * Loads every class in the scanned packages, without initializing it,
+     * and checks its annotations through reflection.
+     */
+    REFLECTION,
+    /**
+     * Reads the annotations from the class file bytes and only loads classes
+     * carrying a component stereotype, without initializing them.
+     */
+    CLASS_FILE
+}
@@ -0,0 +1,110 @@
+package com.univsoftdev.di4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The instances of one context of a scope, such as one request or one
+ * thread, kept in an array indexed by bean slot. Reading an existing
+ * instance takes no lock. Creating one takes a reentrant lock, so that a
+ * context shared by several threads creates each bean once, and a bean can
+ * create other beans of the same context while it is being created.
+ */
+final class ScopeContext {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile AtomicReferenceArray<Object> instances = new AtomicReferenceArray<>(8);
+    private final List<BeanScope.ScopedBean> createdBeans = new ArrayList<>();
+    private final List<Object> createdInstances = new ArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Returns the instance of a bean in this context, creating it on first
+     * use.
+     *
+     * @throws IllegalStateException If the context is closed.
+     */
+    Object get(BeanScope.ScopedBean bean) {
+        int slot = bean.getSlot();
+        Object instance = existing(slot);
+        if (instance != null) {
+            return instance;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The scope context of " + bean.getDefinition().getKey()
+                        + " is closed");
+            }
+            instance = existing(slot);
+            if (instance == null) {
+                instance = bean.create();
+                // Nested creations may have replaced the array
+                AtomicReferenceArray<Object> current = instances;
+                if (slot >= current.length()) {
+                    AtomicReferenceArray<Object> grown
+                            = new AtomicReferenceArray<>(Math.max(slot + 1, current.length() * 2));
+                    for (int i = 0; i < current.length(); i++) {
+                        grown.set(i, current.get(i));
+                    }
+                    grown.set(slot, instance);
+                    instances = grown;
+                } else {
+                    current.set(slot, instance);
+                }
+                createdBeans.add(bean);
+                createdInstances.add(instance);
+            }
+            return instance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object existing(int slot) {
+        AtomicReferenceArray<Object> current = instances;
+        return slot < current.length() ? current.get(slot) : null;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the context and destroys its instances in the reverse order of
+     * their creation. Every instance is destroyed even if some fail; the
+     * first failure is rethrown with the others suppressed. Closing a
+     * closed context does nothing.
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            RuntimeException failure = null;
+            for (int i = createdInstances.size() - 1; i >= 0; i--) {
+                try {
+                    createdBeans.get(i).destroy(createdInstances.get(i));
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            createdBeans.clear();
+            createdInstances.clear();
+            instances = new AtomicReferenceArray<>(0);
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
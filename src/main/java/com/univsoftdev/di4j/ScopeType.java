@@ -2,5 +2,17 @@ package com.univsoftdev.di4j;
 
 public enum ScopeType {
     SINGLETON,
-    PROTOTYPE
+    PROTOTYPE,
+    /**
+     * One instance per thread, see {@link ThreadScope}.
+     */
+    THREAD,
+    /**
+     * One instance per request, see {@link RequestScope}.
+     */
+    REQUEST,
+    /**
+     * Instances reused from a pool, see {@link PoolScope}.
+     */
+    POOLED
 }
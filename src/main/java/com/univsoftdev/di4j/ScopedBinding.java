@@ -0,0 +1,46 @@
+package com.univsoftdev.di4j;
+
+/**
+ * Binds a bean definition to the scope instance it belongs to. It is created
+ * on the first resolution of the bean and kept on the definition, so later
+ * resolutions go straight to the scope.
+ */
+final class ScopedBinding implements BeanScope.ScopedBean {
+
+    private final Injector injector;
+    private final BeanScope scope;
+    private final BeanDefinition definition;
+
+    ScopedBinding(Injector injector, BeanScope scope, BeanDefinition definition) {
+        this.injector = injector;
+        this.scope = scope;
+        this.definition = definition;
+    }
+
+    /**
+     * Returns the instance of the bean in the current context of its scope.
+     */
+    Object resolve() {
+        return scope.get(this);
+    }
+
+    @Override
+    public BeanDefinition getDefinition() {
+        return definition;
+    }
+
+    @Override
+    public int getSlot() {
+        return definition.getScopeSlot();
+    }
+
+    @Override
+    public Object create() {
+        return injector.createScoped(definition);
+    }
+
+    @Override
+    public void destroy(Object instance) {
+        injector.destroyScoped(instance);
+    }
+}
@@ -0,0 +1,338 @@
+package com.univsoftdev.di4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The startup metadata an injector derives from scanning its base packages:
+ * the component definitions, the dependency edges between all definitions
+ * and the result of validating them. It is stored in a text file keyed by a
+ * fingerprint of the classpath, so that a restart on an unchanged classpath
+ * can skip scanning and validation.
+ * <p>
+ * The file has one record per line, with fields separated by {@code |}:
+ * <pre>
+ * fingerprint|&lt;hex&gt;
+ * validation|&lt;error message, empty if valid&gt;
+ * bean|className|qualifier|singleton|lazy|primary
+ * edge|className|qualifier|dependencyClassName|dependencyQualifier
+ * </pre>
+ */
+final class StartupCache {
+
+    private static final String HEADER = "# di4j startup cache v1";
+
+    private final String fingerprint;
+    private final String validationError;
+    private final List<Bean> beans;
+    private final List<Edge> edges;
+
+    StartupCache(String fingerprint, String validationError, List<Bean> beans, List<Edge> edges) {
+        this.fingerprint = fingerprint;
+        this.validationError = validationError;
+        this.beans = Collections.unmodifiableList(beans);
+        this.edges = Collections.unmodifiableList(edges);
+    }
+
+    /**
+     * Computes the fingerprint of the classpath roots containing the base
+     * packages. Jar files contribute their size and modification time;
+     * directories contribute the path, size and modification time of every
+     * file below the package. No class file is read.
+     *
+     * @param classLoader The class loader the packages are scanned with.
+     * @param basePackages The scanned base packages.
+     * @param lazyInit Whether the configuration makes all beans lazy, which is
+     * recorded in the definitions.
+     * @return The hex encoded SHA-256 fingerprint.
+     * @throws IOException If a classpath root cannot be inspected.
+     */
+    static String fingerprint(ClassLoader classLoader, String[] basePackages, boolean lazyInit) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        update(digest, HEADER);
+        update(digest, "lazyInit=" + lazyInit);
+        for (String basePackage : basePackages) {
+            update(digest, "package=" + basePackage);
+            Enumeration<URL> resources = classLoader.getResources(basePackage.replace('.', '/'));
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                update(digest, resource.toExternalForm());
+                if ("file".equals(resource.getProtocol())) {
+                    updateDirectory(digest, toPath(resource));
+                } else if ("jar".equals(resource.getProtocol())) {
+                    URL jar = ((JarURLConnection) resource.openConnection()).getJarFileURL();
+                    if ("file".equals(jar.getProtocol())) {
+                        updateFile(digest, toPath(jar), "");
+                    }
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void updateDirectory(MessageDigest digest, Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+        for (Path file : files) {
+            updateFile(digest, file, directory.relativize(file).toString());
+        }
+    }
+
+    private static void updateFile(MessageDigest digest, Path file, String name) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        update(digest, name + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return new File(url.getFile()).toPath();
+        }
+    }
+
+    /**
+     * Reads a cache file if it was written for the given fingerprint.
+     *
+     * @param file The cache file.
+     * @param fingerprint The fingerprint of the current classpath.
+     * @return The cache, or null if the file does not exist or was written
+     * for a different classpath.
+     * @throws IOException If the file exists but cannot be read or parsed.
+     */
+    static StartupCache read(Path file, String fingerprint) throws IOException {
+        String storedFingerprint = null;
+        String validationError = null;
+        List<Bean> beans = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\|", -1);
+                switch (fields[0]) {
+                    case "fingerprint" -> {
+                        checkFields(fields, 2, line);
+                        storedFingerprint = fields[1];
+                        if (!storedFingerprint.equals(fingerprint)) {
+                            return null;
+                        }
+                    }
+                    case "validation" -> validationError = unescape(line.substring("validation|".length()));
+                    case "bean" -> {
+                        checkFields(fields, 6, line);
+                        beans.add(new Bean(fields[1], fields[2], Boolean.parseBoolean(fields[3]),
+                                Boolean.parseBoolean(fields[4]), Boolean.parseBoolean(fields[5])));
+                    }
+                    case "edge" -> {
+                        checkFields(fields, 5, line);
+                        edges.add(new Edge(fields[1], fields[2], fields[3], fields[4]));
+                    }
+                    default -> throw new IOException("Malformed startup cache line in " + file + ": " + line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (storedFingerprint == null || validationError == null) {
+            throw new IOException("Incomplete startup cache: " + file);
+        }
+        return new StartupCache(storedFingerprint, validationError.isEmpty() ? null : validationError, beans, edges);
+    }
+
+    private static void checkFields(String[] fields, int count, String line) throws IOException {
+        if (fields.length != count) {
+            throw new IOException("Malformed startup cache line: " + line);
+        }
+    }
+
+    /**
+     * Writes the cache to a file. Beans and edges are sorted so that the
+     * same metadata always produces the same file. The contents are written
+     * to a temporary file first and moved into place, so that concurrent
+     * readers never see a partial file.
+     *
+     * @param file The cache file.
+     * @throws IOException If the file cannot be written.
+     */
+    void write(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                writer.write("fingerprint|" + fingerprint);
+                writer.newLine();
+                writer.write("validation|" + (validationError == null ? "" : escape(validationError)));
+                writer.newLine();
+                List<String> records = new ArrayList<>();
+                for (Bean bean : beans) {
+                    records.add("bean|" + bean.className + "|" + bean.qualifier + "|" + bean.singleton
+                            + "|" + bean.lazy + "|" + bean.primary);
+                }
+                for (Edge edge : edges) {
+                    records.add("edge|" + edge.className + "|" + edge.qualifier
+                            + "|" + edge.dependencyClassName + "|" + edge.dependencyQualifier);
+                }
+                Collections.sort(records);
+                for (String record : records) {
+                    writer.write(record);
+                    writer.newLine();
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\r", "\\r").replace("\n", "\\n");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the message of the validation failure recorded with the
+     * definitions, or null if they were valid.
+     */
+    String getValidationError() {
+        return validationError;
+    }
+
+    List<Bean> getBeans() {
+        return beans;
+    }
+
+    List<Edge> getEdges() {
+        return edges;
+    }
+
+    /**
+     * The definition of one scanned component.
+     */
+    static final class Bean {
+
+        private final String className;
+        private final String qualifier;
+        private final boolean singleton;
+        private final boolean lazy;
+        private final boolean primary;
+
+        Bean(String className, String qualifier, boolean singleton, boolean lazy, boolean primary) {
+            this.className = className;
+            this.qualifier = qualifier;
+            this.singleton = singleton;
+            this.lazy = lazy;
+            this.primary = primary;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        String getQualifier() {
+            return qualifier;
+        }
+
+        boolean isSingleton() {
+            return singleton;
+        }
+
+        boolean isLazy() {
+            return lazy;
+        }
+
+        boolean isPrimary() {
+            return primary;
+        }
+    }
+
+    /**
+     * A dependency of one definition on another, both identified by class
+     * name and qualifier.
+     */
+    static final class Edge {
+
+        private final String className;
+        private final String qualifier;
+        private final String dependencyClassName;
+        private final String dependencyQualifier;
+
+        Edge(String className, String qualifier, String dependencyClassName, String dependencyQualifier) {
+            this.className = className;
+            this.qualifier = qualifier;
+            this.dependencyClassName = dependencyClassName;
+            this.dependencyQualifier = dependencyQualifier;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        String getQualifier() {
+            return qualifier;
+        }
+
+        String getDependencyClassName() {
+            return dependencyClassName;
+        }
+
+        String getDependencyQualifier() {
+            return dependencyQualifier;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.univsoftdev.di4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the startup phases of an injector and the cost of every bean it
+ * creates, for {@link StartupReport}. Bean creations nest when a bean creates
+ * its dependencies, so each thread keeps a stack of open frames: the time
+ * and allocations of a nested creation are charged to the parent as
+ * dependency cost instead of self cost.
+ * <p>
+ * An injector only holds a recorder while profiling is enabled, and closes
+ * it when its constructor returns, so beans created afterwards cost nothing
+ * to profile.
+ */
+final class StartupRecorder {
+
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
+    private final long startNanos = System.nanoTime();
+    private final Queue<StartupReport.Phase> phases = new ConcurrentLinkedQueue<>();
+    private final Queue<StartupReport.BeanTiming> beans = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Frame> current = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * Returns the HotSpot thread bean if it can count the bytes allocated by
+     * a thread, or null.
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean counter
+                    && counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                return counter;
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // The jdk.management module is not available
+        }
+        return null;
+    }
+
+    /**
+     * Returns the bytes allocated so far by the calling thread, or -1 if the
+     * JVM cannot count them.
+     */
+    static long allocatedBytes() {
+        return ALLOCATIONS != null ? ALLOCATIONS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Records a startup phase that ends now.
+     *
+     * @param name The phase name.
+     * @param start The {@link System#nanoTime()} the phase started at.
+     */
+    void phase(String name, long start) {
+        phases.add(new StartupReport.Phase(name, start - startNanos, System.nanoTime() - start));
+    }
+
+    /**
+     * Stops recording bean creations. What was recorded stays in the report.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Opens the frame of a bean creation on the calling thread.
+     *
+     * @return The frame, to be passed to {@link #exit(Frame, BeanDefinition)},
+     * or null if the recorder is closed.
+     */
+    Frame enter() {
+        if (closed) {
+            return null;
+        }
+        Frame frame = new Frame(current.get(), System.nanoTime(), allocatedBytes());
+        current.set(frame);
+        return frame;
+    }
+
+    /**
+     * Closes the frame of a bean creation and records its cost.
+     *
+     * @param frame The frame returned by {@link #enter()}.
+     * @param definition The definition of the created bean.
+     */
+    void exit(Frame frame, BeanDefinition definition) {
+        long totalNanos = System.nanoTime() - frame.start;
+        long allocated = frame.startBytes < 0 ? -1 : allocatedBytes() - frame.startBytes;
+        Frame parent = frame.parent;
+        if (parent != null) {
+            current.set(parent);
+            parent.dependencyNanos += totalNanos;
+            parent.dependencyBytes += allocated;
+        } else {
+            current.remove();
+        }
+        beans.add(new StartupReport.BeanTiming(definition.getKey().toString(), definition.getType().getName(),
+                Thread.currentThread().getName(), frame.start - startNanos, totalNanos,
+                totalNanos - frame.dependencyNanos, allocated < 0 ? -1 : allocated - frame.dependencyBytes));
+    }
+
+    /**
+     * Returns a snapshot of everything recorded so far.
+     */
+    StartupReport report() {
+        return new StartupReport(new ArrayList<>(phases), new ArrayList<>(beans));
+    }
+
+    /**
+     * One bean creation in progress on a thread.
+     */
+    static final class Frame {
+
+        private final Frame parent;
+        private final long start;
+        private final long startBytes;
+        private long dependencyNanos;
+        private long dependencyBytes;
+
+        Frame(Frame parent, long start, long startBytes) {
+            this.parent = parent;
+            this.start = start;
+            this.startBytes = startBytes;
+        }
+    }
+}
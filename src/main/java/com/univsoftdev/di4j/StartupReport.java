@@ -0,0 +1,266 @@
+package com.univsoftdev.di4j;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The startup profile of an injector, recorded when
+ * {@link Configuration#setStartupProfiling(boolean)} is enabled. It holds
+ * the duration of each constructor phase (scan, register, validate and
+ * initialize) and the cost of every bean created during them. Beans
+ * created lazily after startup are not included.
+ * <p>
+ * For each bean the wall time is split into self time, spent in its own
+ * constructor, injection and lifecycle callbacks, and dependency time, spent
+ * creating the beans it depends on. Allocated bytes are counted the same way
+ * and only include the bean itself; they are -1 if the JVM cannot count
+ * allocations per thread.
+ */
+public final class StartupReport {
+
+    /**
+     * Orders beans by total wall time, longest first.
+     */
+    public static final Comparator<BeanTiming> BY_TOTAL_TIME
+            = Comparator.comparingLong(BeanTiming::getTotalNanos).reversed();
+
+    /**
+     * Orders beans by self time, longest first.
+     */
+    public static final Comparator<BeanTiming> BY_SELF_TIME
+            = Comparator.comparingLong(BeanTiming::getSelfNanos).reversed();
+
+    /**
+     * Orders beans by allocated bytes, largest first.
+     */
+    public static final Comparator<BeanTiming> BY_ALLOCATED_BYTES
+            = Comparator.comparingLong(BeanTiming::getAllocatedBytes).reversed();
+
+    /**
+     * Orders beans by the time their creation started.
+     */
+    public static final Comparator<BeanTiming> BY_START
+            = Comparator.comparingLong(BeanTiming::getStartNanos);
+
+    private final List<Phase> phases;
+    private final List<BeanTiming> beans;
+
+    StartupReport(List<Phase> phases, List<BeanTiming> beans) {
+        this.phases = Collections.unmodifiableList(phases);
+        this.beans = Collections.unmodifiableList(beans);
+    }
+
+    /**
+     * Returns the constructor phases in the order they ran.
+     */
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Returns the created beans in the order their creation finished.
+     */
+    public List<BeanTiming> getBeans() {
+        return beans;
+    }
+
+    /**
+     * Returns the beans sorted by the given order.
+     *
+     * @param order One of the comparators of this class, or any other.
+     * @return A sorted copy of the beans.
+     */
+    public List<BeanTiming> getBeans(Comparator<BeanTiming> order) {
+        return beans.stream().sorted(order).toList();
+    }
+
+    /**
+     * Formats the report as a table.
+     *
+     * @param order The order of the bean rows.
+     * @return The phases followed by one line per bean.
+     */
+    public String toText(Comparator<BeanTiming> order) {
+        StringBuilder text = new StringBuilder("Startup phases:\n");
+        for (Phase phase : phases) {
+            text.append(String.format(Locale.ROOT, "  %-12s %10s ms%n", phase.getName(), millis(phase.getDurationNanos())));
+        }
+        text.append(String.format(Locale.ROOT, "Beans:%n  %10s %10s %10s %14s  %s%n",
+                "total ms", "self ms", "deps ms", "self bytes", "bean"));
+        for (BeanTiming bean : getBeans(order)) {
+            text.append(String.format(Locale.ROOT, "  %10s %10s %10s %14d  %s%n", millis(bean.getTotalNanos()),
+                    millis(bean.getSelfNanos()), millis(bean.getDependencyNanos()), bean.getAllocatedBytes(),
+                    bean.getBean()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Formats the report as a JSON object with a {@code phases} and a
+     * {@code beans} array. Times are in nanoseconds.
+     *
+     * @param order The order of the beans array.
+     * @return The JSON text.
+     */
+    public String toJson(Comparator<BeanTiming> order) {
+        StringBuilder json = new StringBuilder("{\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":").append(quote(phase.getName()))
+                    .append(",\"startNanos\":").append(phase.getStartNanos())
+                    .append(",\"durationNanos\":").append(phase.getDurationNanos())
+                    .append('}');
+        }
+        json.append("],\"beans\":[");
+        List<BeanTiming> sorted = getBeans(order);
+        for (int i = 0; i < sorted.size(); i++) {
+            BeanTiming bean = sorted.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"bean\":").append(quote(bean.getBean()))
+                    .append(",\"type\":").append(quote(bean.getType()))
+                    .append(",\"thread\":").append(quote(bean.getThread()))
+                    .append(",\"startNanos\":").append(bean.getStartNanos())
+                    .append(",\"totalNanos\":").append(bean.getTotalNanos())
+                    .append(",\"selfNanos\":").append(bean.getSelfNanos())
+                    .append(",\"dependencyNanos\":").append(bean.getDependencyNanos())
+                    .append(",\"allocatedBytes\":").append(bean.getAllocatedBytes())
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText(BY_SELF_TIME);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * One phase of the injector constructor.
+     */
+    public static final class Phase {
+
+        private final String name;
+        private final long startNanos;
+        private final long durationNanos;
+
+        Phase(String name, long startNanos, long durationNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns when the phase started, relative to the start of the
+         * injector constructor.
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    /**
+     * The cost of creating one bean instance.
+     */
+    public static final class BeanTiming {
+
+        private final String bean;
+        private final String type;
+        private final String thread;
+        private final long startNanos;
+        private final long totalNanos;
+        private final long selfNanos;
+        private final long allocatedBytes;
+
+        BeanTiming(String bean, String type, String thread, long startNanos, long totalNanos, long selfNanos,
+                long allocatedBytes) {
+            this.bean = bean;
+            this.type = type;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * Returns the key of the bean.
+         */
+        public String getBean() {
+            return bean;
+        }
+
+        /**
+         * Returns the class name of the bean.
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns the name of the thread that created the bean.
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Returns when the creation started, relative to the start of the
+         * injector constructor.
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        public long getDependencyNanos() {
+            return totalNanos - selfNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
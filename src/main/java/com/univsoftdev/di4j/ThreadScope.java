@@ -0,0 +1,83 @@
+package com.univsoftdev.di4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The scope of beans annotated with {@code @Scope(ScopeType.THREAD)}: each
+ * thread, platform or virtual, gets its own instance. All beans of the scope
+ * share one ThreadLocal holding a slot array per thread.
+ * <p>
+ * The instances of a thread live until {@link #clear()} is called on that
+ * thread or the injector is destroyed; a thread pool should clear the scope
+ * when a task ends. Only the thread itself holds its context strongly, so
+ * the instances of a thread that ends without clearing the scope become
+ * unreachable with it and are not passed to their @PreDestroy methods.
+ */
+public final class ThreadScope implements BeanScope {
+
+    /**
+     * The name the scope is registered under.
+     */
+    public static final String NAME = "thread";
+
+    private final ThreadLocal<ScopeContext> contexts = new ThreadLocal<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<ScopeContext> open = Collections.newSetFromMap(new WeakHashMap<>());
+
+    @Override
+    public Object get(ScopedBean bean) {
+        ScopeContext context = contexts.get();
+        if (context == null || context.isClosed()) {
+            context = new ScopeContext();
+            contexts.set(context);
+            lock.lock();
+            try {
+                open.add(context);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return context.get(bean);
+    }
+
+    /**
+     * Destroys the instances of the calling thread. The next resolution on
+     * the thread creates new ones.
+     */
+    public void clear() {
+        ScopeContext context = contexts.get();
+        if (context != null) {
+            contexts.remove();
+            lock.lock();
+            try {
+                open.remove(context);
+            } finally {
+                lock.unlock();
+            }
+            context.close();
+        }
+    }
+
+    /**
+     * Destroys the instances of every thread that is still reachable.
+     */
+    @Override
+    public void destroy() {
+        List<ScopeContext> closing;
+        lock.lock();
+        try {
+            closing = new ArrayList<>(open);
+            open.clear();
+        } finally {
+            lock.unlock();
+        }
+        for (ScopeContext context : closing) {
+            context.close();
+        }
+    }
+}
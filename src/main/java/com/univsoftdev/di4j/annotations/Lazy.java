@@ -5,7 +5,14 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.annotation.ElementType;
 
+/**
+ * On a component, defers its creation from startup to its first resolution.
+ * On an injected field or constructor parameter of an interface or class
+ * type, injects a proxy that resolves the bean on its first method call.
+ * Deferring a dependency this way does not require declaring it as
+ * {@link com.univsoftdev.di4j.Lazy}.
+ */
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.TYPE, ElementType.FIELD})
+@Target({ElementType.TYPE, ElementType.FIELD, ElementType.PARAMETER})
 public @interface Lazy {
 }
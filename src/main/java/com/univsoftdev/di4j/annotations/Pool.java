@@ -0,0 +1,22 @@
+package com.univsoftdev.di4j.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures the pool of a bean annotated with
+ * {@code @Scope(ScopeType.POOLED)}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Pool {
+
+    /**
+     * The maximum number of idle instances kept for reuse. Instances
+     * returned to a full pool are destroyed. 0 keeps twice the number of
+     * available processors.
+     */
+    int size() default 0;
+}
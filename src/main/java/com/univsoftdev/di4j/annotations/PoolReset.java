@@ -0,0 +1,16 @@
+package com.univsoftdev.di4j.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method of a pooled bean that clears its state when the instance
+ * is returned to the pool. An instance whose reset fails is destroyed
+ * instead of being reused.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PoolReset {
+}
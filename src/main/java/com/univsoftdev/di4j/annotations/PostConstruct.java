@@ -8,4 +8,12 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface PostConstruct {
-}
\ No newline at end of file
+
+    /**
+     * Runs the method on the container executor after the bean is created,
+     * instead of on the resolving thread. Injection points of type
+     * {@code CompletableFuture<T>} complete once it has run; injection
+     * points of type {@code T} wait for it.
+     */
+    boolean async() default false;
+}
@@ -11,4 +11,11 @@ import java.lang.annotation.Target;
 public @interface Scope {
 
     ScopeType value() default ScopeType.SINGLETON;
+
+    /**
+     * The name of a scope registered with
+     * {@link com.univsoftdev.di4j.Injector#registerScope}. When set, it
+     * takes precedence over {@link #value()}.
+     */
+    String name() default "";
 }
@@ -1,8 +1,50 @@
 package com.univsoftdev.di4j.exceptions;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class CircularDependencyException extends RuntimeException {
 
+    private final List<String> path;
+
     public CircularDependencyException(String message) {
         super(message);
+        this.path = null;
+    }
+
+    /**
+     * Creates an exception for a bean that was requested again while it was
+     * still being created. The path is completed by
+     * {@link #addDependent(Object)} as the exception unwinds.
+     *
+     * @param bean The bean that was requested again.
+     */
+    public CircularDependencyException(Object bean) {
+        super(null, null, false, false);
+        this.path = new ArrayList<>();
+        this.path.add(String.valueOf(bean));
+    }
+
+    /**
+     * Prepends a bean whose creation depended on the next bean in the path,
+     * until the path leads back to the bean that was requested again.
+     *
+     * @param bean The dependent bean.
+     */
+    public void addDependent(Object bean) {
+        if (path != null && !isComplete()) {
+            path.add(0, String.valueOf(bean));
+        }
+    }
+
+    private boolean isComplete() {
+        return path.size() > 1 && path.get(0).equals(path.get(path.size() - 1));
+    }
+
+    @Override
+    public String getMessage() {
+        return path != null
+                ? "Circular dependency detected:\n" + String.join(" -> ", path)
+                : super.getMessage();
     }
 }
@@ -0,0 +1,29 @@
+package com.univsoftdev.di4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The creation of one bean instance, including its dependencies, injection,
+ * post-processors and @PostConstruct callbacks.
+ */
+@Name("com.univsoftdev.di4j.BeanCreation")
+@Label("Bean Creation")
+@Category({"di4j", "Beans"})
+@Description("Creation of a bean instance, including its dependencies and lifecycle callbacks")
+@StackTrace(false)
+public final class BeanCreationEvent extends Event {
+
+    @Label("Bean Type")
+    public Class<?> beanType;
+
+    @Label("Qualifier")
+    public String qualifier;
+
+    @Label("Scope")
+    public String scope;
+}
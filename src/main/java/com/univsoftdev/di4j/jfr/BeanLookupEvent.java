@@ -0,0 +1,28 @@
+package com.univsoftdev.di4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A bean definition lookup by type or by type and qualifier that was not
+ * answered from the resolution cache.
+ */
+@Name("com.univsoftdev.di4j.BeanLookup")
+@Label("Bean Lookup")
+@Category({"di4j", "Resolution"})
+@Description("Bean definition lookup that missed the resolution cache")
+public final class BeanLookupEvent extends Event {
+
+    @Label("Requested Type")
+    public Class<?> requestedType;
+
+    @Label("Qualifier")
+    public String qualifier;
+
+    @Label("Bean Type")
+    @Description("The type of the chosen bean, or null if the lookup failed")
+    public Class<?> beanType;
+}
@@ -0,0 +1,31 @@
+package com.univsoftdev.di4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One classpath scan for component classes.
+ */
+@Name("com.univsoftdev.di4j.ComponentScan")
+@Label("Component Scan")
+@Category({"di4j", "Startup"})
+@Description("Classpath scan of base packages for component classes")
+@StackTrace(false)
+public final class ComponentScanEvent extends Event {
+
+    @Label("Base Packages")
+    public String basePackages;
+
+    @Label("Scan Mode")
+    public String mode;
+
+    @Label("Parallelism")
+    public int parallelism;
+
+    @Label("Components")
+    public int components;
+}
@@ -0,0 +1,42 @@
+package com.univsoftdev.di4j.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+
+/**
+ * The Flight Recorder settings for the di4j events, shipped as the
+ * {@value #RESOURCE} resource. They enable every di4j event without a
+ * duration threshold and can be combined with a JDK profile, for example by
+ * extracting the file and passing
+ * {@code -XX:StartFlightRecording:settings=default,settings=di4j.jfc}, or
+ * programmatically through {@link #load()}.
+ */
+public final class JfrSettings {
+
+    public static final String RESOURCE = "com/univsoftdev/di4j/jfr/di4j.jfc";
+
+    private JfrSettings() {
+    }
+
+    /**
+     * Loads the di4j settings from the classpath.
+     *
+     * @return The settings, usable with {@link jdk.jfr.Recording#Recording(Configuration)}.
+     * @throws IOException If the resource cannot be read.
+     * @throws ParseException If the resource is not a valid settings file.
+     */
+    public static Configuration load() throws IOException, ParseException {
+        InputStream input = JfrSettings.class.getClassLoader().getResourceAsStream(RESOURCE);
+        if (input == null) {
+            throw new IOException("Missing JFR settings resource: " + RESOURCE);
+        }
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.univsoftdev.di4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The invocation of the @PostConstruct or @PreDestroy methods of one bean.
+ */
+@Name("com.univsoftdev.di4j.LifecycleCallback")
+@Label("Lifecycle Callback")
+@Category({"di4j", "Beans"})
+@Description("Invocation of the @PostConstruct or @PreDestroy methods of a bean")
+@StackTrace(false)
+public final class LifecycleCallbackEvent extends Event {
+
+    @Label("Bean Type")
+    public Class<?> beanType;
+
+    @Label("Callback")
+    @Description("PostConstruct or PreDestroy")
+    public String callback;
+}
@@ -0,0 +1,29 @@
+package com.univsoftdev.di4j.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The application of one bean post-processor to one bean.
+ */
+@Name("com.univsoftdev.di4j.PostProcessor")
+@Label("Bean Post-Processor")
+@Category({"di4j", "Beans"})
+@Description("Application of a bean post-processor before or after initialization")
+@StackTrace(false)
+public final class PostProcessorEvent extends Event {
+
+    @Label("Bean Name")
+    public String beanName;
+
+    @Label("Post-Processor")
+    public Class<?> postProcessor;
+
+    @Label("Phase")
+    @Description("BEFORE_INITIALIZATION or AFTER_INITIALIZATION")
+    public String phase;
+}
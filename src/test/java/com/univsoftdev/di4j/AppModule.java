@@ -24,7 +24,7 @@ public class AppModule extends AbstractModule{
     }
 
     @Override
-    public void configure(Object binder) {
+    public void configure(Binder binder) {
         throw new UnsupportedOperationException("Not supported yet."); // Generated from nbfs://nbhost/SystemFileSystem/Templates/Classes/Code/GeneratedMethodBody
     }
 }
@@ -0,0 +1,53 @@
+package com.univsoftdev.di4j;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Lazy;
+import com.univsoftdev.di4j.annotations.Qualifier;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ClassScannerTest {
+
+    private static final AtomicInteger INITIALIZATIONS = new AtomicInteger();
+
+    @Test
+    public void testClassFileScanFindsComponentsWithoutInitializingThem() {
+        int initializations = INITIALIZATIONS.get();
+        Set<Class<?>> fromHeaders = ClassScanner.scanForComponents("com.univsoftdev.di4j", ScanMode.CLASS_FILE);
+
+        assertTrue(fromHeaders.contains(ScannedComponent.class));
+        assertTrue(fromHeaders.contains(QualifiedComponent.class));
+        assertFalse(fromHeaders.contains(ClassScannerTest.class));
+        assertEquals(initializations, INITIALIZATIONS.get(), "The scan must not run static initializers");
+
+        assertEquals(ClassScanner.scanForComponents("com.univsoftdev.di4j", ScanMode.REFLECTION), fromHeaders);
+    }
+
+    @Test
+    public void testParallelScanFindsTheSameComponents() {
+        String[] packages = {"com.univsoftdev.di4j", "com.univsoftdev.di4j.annotations"};
+        Set<Class<?>> sequential = ClassScanner.scanForComponents(packages, ScanMode.CLASS_FILE, 1);
+
+        assertEquals(sequential, ClassScanner.scanForComponents(packages, ScanMode.CLASS_FILE, 4));
+        assertTrue(sequential.contains(ScannedComponent.class));
+    }
+
+    @Lazy
+    @Component
+    static class ScannedComponent {
+
+        static {
+            INITIALIZATIONS.incrementAndGet();
+        }
+    }
+
+    @Lazy
+    @Component
+    @Qualifier("qualified")
+    static class QualifiedComponent {
+    }
+}
@@ -2,7 +2,7 @@ package com.univsoftdev.di4j;
 
 import com.univsoftdev.di4j.annotations.*;
 
-@Lazy
+@com.univsoftdev.di4j.annotations.Lazy
 @Component
 public class Client {
 
@@ -3,9 +3,50 @@ package com.univsoftdev.di4j;
 import com.univsoftdev.di4j.annotations.Component;
 import com.univsoftdev.di4j.annotations.Inject;
 import com.univsoftdev.di4j.annotations.Lazy;
+import com.univsoftdev.di4j.annotations.Pool;
+import com.univsoftdev.di4j.annotations.PoolReset;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+import com.univsoftdev.di4j.annotations.PreDestroy;
+import com.univsoftdev.di4j.annotations.Primary;
+import com.univsoftdev.di4j.annotations.Qualifier;
+import com.univsoftdev.di4j.annotations.Scope;
+import com.univsoftdev.di4j.annotations.Value;
+import com.univsoftdev.di4j.exceptions.BeanResolutionException;
+import com.univsoftdev.di4j.exceptions.BeanValidationException;
+import com.univsoftdev.di4j.profiled.ProfiledLeaf;
+import com.univsoftdev.di4j.profiled.ProfiledRoot;
+import com.univsoftdev.di4j.waves.WaveLeafA;
+import com.univsoftdev.di4j.waves.WaveLeafC;
+import com.univsoftdev.di4j.waves.WaveRoot;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -82,7 +123,7 @@ public class InjectorTest {
 
     @Test
     public void testPrototypeSupplier() {
-        Injector injector = new Injector();
+        Injector injector = Injector.createInjector();
         injector.registerSupplier(CustomService.class, () -> new CustomService("proto"), false);
 
         CustomService service1 = injector.resolve(CustomService.class);
@@ -108,7 +149,7 @@ public class InjectorTest {
 
     @Test
     public void testSupplierWithDependencies() {
-        Injector injector = new Injector();
+        Injector injector = Injector.createInjector();
         injector.registerSupplier(DatabaseConnection.class, ()
                 -> new DatabaseConnection("jdbc:mysql://localhost", "user")
         );
@@ -117,20 +158,484 @@ public class InjectorTest {
         assertNotNull(conn.getUrl());
     }
 
+    @Test
+    public void testCompiledFactoryInjectsValues() {
+        Injector injector = new Injector(new Configuration(), "application.properties");
+        injector.register(AppConfig.class);
+
+        AppConfig config = injector.resolve(AppConfig.class);
+        assertEquals("MyAwesomeApp", config.getAppName());
+        assertEquals(3, config.getMaxRetries());
+        assertTrue(config.isDebugMode());
+    }
+
+    @Test
+    public void testInheritedMembersAreInjected() {
+        Injector injector = new Injector(new Configuration(), "application.properties");
+        injector.register(DerivedComponent.class);
+
+        DerivedComponent component = injector.resolve(DerivedComponent.class);
+        assertEquals("MyAwesomeApp", component.appName);
+        assertTrue(component.baseInitialized);
+    }
+
+    @Test
+    public void testResolveBySuperinterfaceAndAbstractClass() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(EnglishGreeter.class);
+
+        Greeter greeter = injector.resolve(Greeter.class);
+        assertSame(greeter, injector.resolve(Named.class));
+        assertSame(greeter, injector.resolve(AbstractGreeter.class));
+        assertSame(greeter, injector.resolveQualified(Named.class, "english"));
+        assertThrows(RuntimeException.class, () -> injector.resolveQualified(Named.class, "spanish"));
+    }
+
+    @Test
+    public void testResolutionCacheIsInvalidatedOnRegister() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(EnglishGreeter.class);
+        assertInstanceOf(EnglishGreeter.class, injector.resolve(Greeter.class));
+
+        injector.register(FrenchGreeter.class);
+        assertInstanceOf(FrenchGreeter.class, injector.resolve(Greeter.class));
+    }
+
+    @Test
+    public void testFrozenInjectorResolvesAndRejectsRegistration() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(EnglishGreeter.class);
+        injector.registerSupplier(CustomService.class, () -> new CustomService("proto"), false);
+        injector.freeze();
+
+        assertTrue(injector.isFrozen());
+        Greeter greeter = injector.resolve(Greeter.class);
+        assertSame(greeter, injector.resolve(EnglishGreeter.class));
+        assertSame(greeter, injector.resolveQualified(Named.class, "english"));
+        assertNotSame(injector.resolve(CustomService.class), injector.resolve(CustomService.class));
+        assertThrows(IllegalStateException.class, () -> injector.register(FrenchGreeter.class));
+        assertThrows(IllegalStateException.class, () -> injector.registerSupplier(TestService.class, TestService::new));
+    }
+
+    @Test
+    public void testBeanHandleRebindsWhenRegistryChanges() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(EnglishGreeter.class);
+        injector.registerSupplier(CustomService.class, () -> new CustomService("proto"), false);
+
+        BeanHandle<Greeter> greeter = injector.handle(Greeter.class);
+        BeanHandle<CustomService> service = injector.handle(CustomService.class);
+        assertSame(injector.resolve(Greeter.class), greeter.get());
+        assertSame(greeter.get(), injector.handle(Named.class, "english").get());
+        assertNotSame(service.get(), service.get());
+
+        injector.register(FrenchGreeter.class);
+        assertInstanceOf(FrenchGreeter.class, greeter.get());
+
+        Greeter before = greeter.get();
+        injector.destroy();
+        assertNotSame(before, greeter.get());
+        assertThrows(RuntimeException.class, () -> injector.handle(Named.class, "spanish"));
+    }
+
+    @Test
+    public void testPartialRegistryDoesNotHideScannedComponents() throws Exception {
+        Path classpath = Files.createTempDirectory("di4j-registry");
+        Path services = classpath.resolve("META-INF/services/" + ComponentRegistry.class.getName());
+        Files.createDirectories(services.getParent());
+        Files.writeString(services, LeafRegistry.class.getName());
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classpath.toUri().toURL()}, previous)) {
+            thread.setContextClassLoader(loader);
+            Injector injector = new Injector(new Configuration()
+                    .setLazyInit(true)
+                    .setBasePackages("com.univsoftdev.di4j.waves"));
+
+            // The registry only lists WaveLeafA; the rest of the package is scanned
+            WaveRoot root = injector.resolve(WaveRoot.class);
+            assertSame(LeafRegistry.CREATED, root.a);
+            assertNotNull(root.b);
+            assertNotNull(root.c);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    public void testStartupCacheSkipsScanningUntilTheFingerprintChanges() throws Exception {
+        Path cacheFile = Files.createTempDirectory("di4j-cache").resolve("startup.cache");
+        Configuration configuration = new Configuration()
+                .setLazyInit(true)
+                .setBasePackages("com.univsoftdev.di4j.waves")
+                .setStartupCacheFile(cacheFile);
+
+        new Injector(configuration);
+        List<String> lines = Files.readAllLines(cacheFile);
+        assertTrue(lines.contains("bean|com.univsoftdev.di4j.waves.WaveLeafC|waveleafc|true|true|false"), lines.toString());
+        assertTrue(lines.contains("edge|com.univsoftdev.di4j.waves.WaveRoot|waveroot|com.univsoftdev.di4j.waves.WaveLeafC|waveleafc"));
+
+        // A matching fingerprint means the cached definitions are used as they are
+        Files.write(cacheFile, lines.stream().filter(line -> !line.contains("WaveLeafC|")).toList());
+        Injector cached = new Injector(configuration);
+        assertNotNull(cached.handle(WaveRoot.class));
+        assertThrows(RuntimeException.class, () -> cached.handle(WaveLeafC.class));
+
+        // A different fingerprint falls back to scanning and rewrites the cache
+        Files.write(cacheFile, lines.stream()
+                .map(line -> line.startsWith("fingerprint|") ? "fingerprint|stale" : line)
+                .filter(line -> !line.contains("WaveLeafC|"))
+                .toList());
+        assertNotNull(new Injector(configuration).handle(WaveLeafC.class));
+        assertEquals(lines, Files.readAllLines(cacheFile));
+    }
+
+    @Test
+    public void testValidationReportsEveryProblemWithoutCreatingBeans() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        List.of(ServiceA.class, ServiceB.class, EnglishGreeter.class, GermanGreeter.class, GreeterClient.class)
+                .forEach(injector::register);
+
+        String message = assertThrows(BeanValidationException.class, injector::validate).getMessage();
+        assertTrue(message.contains("Circular dependency: "), message);
+        assertTrue(message.contains("'greeter'") && message.contains("Multiple implementations"), message);
+        assertTrue(message.contains("'dependency'") && message.contains(ProfiledDependency.class.getName()), message);
+        assertTrue(injector.getSingletons().isEmpty());
+    }
+
+    @Test
+    public void testStartupReportSplitsSelfAndDependencyTime() {
+        assertNull(new Injector(new Configuration().setAutoDetectComponents(false)).getStartupReport());
+
+        Injector injector = new Injector(new Configuration()
+                .setBasePackages("com.univsoftdev.di4j.profiled")
+                .setStartupProfiling(true));
+
+        StartupReport report = injector.getStartupReport();
+        assertEquals(List.of("scan", "register", "validate", "initialize"),
+                report.getPhases().stream().map(StartupReport.Phase::getName).toList());
+
+        List<StartupReport.BeanTiming> beans = report.getBeans(StartupReport.BY_SELF_TIME);
+        assertEquals(2, beans.size(), report.toString());
+        assertEquals(ProfiledLeaf.class.getName(), beans.get(0).getType());
+        StartupReport.BeanTiming root = beans.get(1);
+        assertEquals(ProfiledRoot.class.getName(), root.getType());
+        assertTrue(root.getDependencyNanos() >= TimeUnit.MILLISECONDS.toNanos(100), report.toString());
+        assertTrue(root.getSelfNanos() >= TimeUnit.MILLISECONDS.toNanos(50), report.toString());
+        assertTrue(root.getSelfNanos() < root.getDependencyNanos(), report.toString());
+        assertTrue(report.toJson(StartupReport.BY_START).contains("\"type\":\"" + ProfiledRoot.class.getName() + "\""));
+
+        // Beans created after the constructor are not recorded
+        injector.register(Ticket.class);
+        injector.resolve(Ticket.class);
+        assertEquals(2, injector.getStartupReport().getBeans(StartupReport.BY_START).size());
+    }
+
+    @Test
+    public void testStatsCountResolutionsAndArePublishedAsAnMBean() throws Exception {
+        assertNull(new Injector(new Configuration().setAutoDetectComponents(false)).stats());
+
+        Injector injector = new Injector(new Configuration()
+                .setAutoDetectComponents(false)
+                .setMetricsEnabled(true)
+                .setMetricsName("injector:test"));
+        injector.addPostProcessor(new BeanPostProcessor() {
+        });
+        injector.register(EnglishGreeter.class);
+        injector.registerSupplier(CustomService.class, () -> new CustomService("proto"), false);
+        for (int i = 0; i < 3; i++) {
+            injector.resolve(EnglishGreeter.class);
+            injector.resolve(CustomService.class);
+        }
+        injector.register(GermanGreeter.class);
+        com.univsoftdev.di4j.Lazy<GermanGreeter> lazy = new com.univsoftdev.di4j.Lazy<>(injector, GermanGreeter.class);
+        lazy.get();
+        lazy.get();
+
+        InjectorStats stats = injector.stats();
+        assertEquals(3L, stats.getResolveCalls().get(EnglishGreeter.class.getName()));
+        assertEquals(1L, stats.getResolveCalls().get(GermanGreeter.class.getName()));
+        assertEquals(2, stats.getSingletonCacheHits());
+        assertEquals(Map.of("CustomService", 3L), stats.getPrototypeInstantiations());
+        assertEquals(1, stats.getLazyFirstResolution().getCount());
+        assertEquals(4, stats.getPostProcessorTime().getCount(), stats.toString());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.univsoftdev.di4j:type=Injector,name=" + ObjectName.quote("injector:test"));
+        assertEquals(2L, server.getAttribute(name, "SingletonCacheHits"));
+        CompositeData lazyLatency = (CompositeData) server.getAttribute(name, "LazyFirstResolution");
+        assertEquals(1L, lazyLatency.get("count"));
+
+        injector.destroy();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testRequestAndThreadScopesShareInstancesWithinTheirContext() throws Exception {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(RequestBean.class);
+        injector.register(ThreadBean.class);
+        injector.register(ConversationBean.class);
+        assertThrows(IllegalStateException.class, () -> injector.resolve(RequestBean.class));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RequestBean first;
+            try (RequestScope.Context request = injector.getRequestScope().begin()) {
+                first = injector.resolve(RequestBean.class);
+                assertSame(first, injector.resolve(RequestBean.class));
+                assertSame(first, executor.submit(request.wrap(() -> injector.resolve(RequestBean.class))).get());
+                assertFalse(first.destroyed);
+            }
+            assertTrue(first.destroyed);
+            try (var ignored = injector.getRequestScope().begin()) {
+                assertNotSame(first, injector.resolve(RequestBean.class));
+            }
+
+            ThreadBean mine = injector.resolve(ThreadBean.class);
+            assertSame(mine, injector.resolve(ThreadBean.class));
+            assertNotSame(mine, executor.submit(() -> injector.resolve(ThreadBean.class)).get());
+            injector.getThreadScope().clear();
+            assertTrue(mine.destroyed);
+            assertNotSame(mine, injector.resolve(ThreadBean.class));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThrows(BeanResolutionException.class, () -> injector.resolve(ConversationBean.class));
+        ConversationBean conversation = new ConversationBean();
+        injector.registerScope("conversation", bean -> conversation);
+        assertSame(conversation, injector.resolve(ConversationBean.class));
+    }
+
+    @Test
+    public void testThreadScopeReleasesTheInstancesOfFinishedThreads() throws Exception {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(ThreadBean.class);
+
+        List<WeakReference<ThreadBean>> created = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Thread thread = new Thread(() -> {
+                created.add(new WeakReference<>(injector.resolve(ThreadBean.class)));
+            });
+            thread.start();
+            // Joining publishes the reference added by the thread
+            thread.join();
+        }
+        assertEquals(200, created.size());
+
+        for (int attempt = 0; attempt < 50 && created.stream().anyMatch(ref -> ref.get() != null); attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertTrue(created.stream().allMatch(ref -> ref.get() == null));
+    }
+
+    @Test
+    public void testPooledBeansAreReusedAndResetOnReturn() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(PooledBuffer.class);
+        injector.register(RequestBean.class);
+        assertThrows(BeanResolutionException.class, () -> injector.borrow(RequestBean.class));
+
+        PooledBuffer first;
+        try (Pooled<PooledBuffer> buffer = injector.borrow(PooledBuffer.class)) {
+            first = buffer.get();
+            first.content.append("data");
+        }
+        Pooled<PooledBuffer> reused = injector.borrow(PooledBuffer.class);
+        assertSame(first, reused.get());
+        assertEquals(0, first.content.length());
+        reused.close();
+        assertThrows(IllegalStateException.class, reused::get);
+        // Closing again does not return the instance twice, see the counters
+        reused.close();
+
+        // The pool keeps two instances; a third returned one is destroyed
+        Pooled<PooledBuffer> a = injector.borrow(PooledBuffer.class);
+        Pooled<PooledBuffer> b = injector.borrow(PooledBuffer.class);
+        Pooled<PooledBuffer> c = injector.borrow(PooledBuffer.class);
+        PooledBuffer discarded = c.get();
+        a.close();
+        b.close();
+        c.close();
+        assertTrue(discarded.destroyed);
+
+        PoolStats stats = injector.getPoolScope().stats()
+                .get(new BeanKey(PooledBuffer.class, "pooledbuffer").toString());
+        assertEquals(2, stats.getHits());
+        assertEquals(3, stats.getMisses());
+        assertEquals(4, stats.getReturns());
+        assertEquals(1, stats.getDiscards());
+        assertEquals(2, stats.getIdle());
+
+        injector.destroy();
+        assertTrue(first.destroyed);
+    }
+
+    @Test
+    public void testLazyAnnotatedDependenciesAreInjectedAsProxies() {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(SlowCatalog.class);
+        injector.register(PriceList.class);
+        injector.register(CatalogClient.class);
+        SlowCatalog.created = 0;
+        PriceList.created = 0;
+
+        CatalogClient client = injector.resolve(CatalogClient.class);
+        assertEquals(0, SlowCatalog.created);
+        assertEquals(0, PriceList.created);
+        assertFalse(client.catalog instanceof SlowCatalog);
+        assertFalse(client.prices.getClass() == PriceList.class);
+
+        assertEquals("item-3", client.catalog.item(3));
+        assertEquals(7L, client.prices.price("item", 7L));
+        assertEquals(1, SlowCatalog.created);
+        assertEquals(1, PriceList.created);
+        assertEquals("item-4", client.catalog.item(4));
+        assertSame(injector.resolve(SlowCatalog.class).toString(), client.catalog.toString());
+        assertEquals(1, SlowCatalog.created);
+    }
+
+    @Test
+    public void testAsyncPostConstructCompletesInjectedFutures() throws Exception {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(WarmCache.class);
+        injector.register(CacheClient.class);
+        WarmCache.release = new CountDownLatch(1);
+
+        CacheClient client = injector.resolve(CacheClient.class);
+        assertFalse(client.cache.isDone());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<WarmCache> raw = executor.submit(() -> injector.resolve(WarmCache.class));
+            assertThrows(TimeoutException.class, () -> raw.get(100, TimeUnit.MILLISECONDS));
+            assertFalse(injector.whenInitialized().isDone());
+
+            WarmCache.release.countDown();
+            WarmCache cache = client.cache.get(5, TimeUnit.SECONDS);
+            assertTrue(cache.warmed);
+            assertSame(cache, raw.get(5, TimeUnit.SECONDS));
+            assertSame(cache, injector.resolveAsync(WarmCache.class).get(5, TimeUnit.SECONDS));
+            injector.whenInitialized().get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+            injector.destroy();
+        }
+    }
+
+    @Test
+    public void testAsyncInitializationTellsEqualPrototypesApart() throws Exception {
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        Injector injector = new Injector(new Configuration()
+                .setAutoDetectComponents(false)
+                .setInitializationExecutor(tasks::add));
+        injector.register(Ticket.class);
+
+        CompletableFuture<Ticket> first = injector.resolveAsync(Ticket.class);
+        CompletableFuture<Ticket> second = injector.resolveAsync(Ticket.class);
+        // Each creation queues the initializer of its ticket
+        tasks.poll().run();
+        tasks.poll().run();
+        tasks.pollLast().run();
+
+        Ticket initialized = second.get(5, TimeUnit.SECONDS);
+        assertTrue(initialized.initialized);
+        assertFalse(first.isDone());
+        assertFalse(injector.whenInitialized().isDone());
+
+        tasks.poll().run();
+        Ticket other = first.get(5, TimeUnit.SECONDS);
+        assertEquals(initialized, other);
+        assertNotSame(initialized, other);
+        assertTrue(other.initialized);
+        assertTrue(injector.whenInitialized().isDone());
+    }
+
+    @Test
+    public void testFailedAsyncInitializationIsReportedAndForgotten() throws Exception {
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        Injector injector = new Injector(new Configuration()
+                .setAutoDetectComponents(false)
+                .setInitializationExecutor(tasks::add));
+        injector.register(VoidTicket.class);
+
+        CompletableFuture<VoidTicket> ticket = injector.resolveAsync(VoidTicket.class);
+        tasks.poll().run();
+        CompletableFuture<Void> pending = injector.whenInitialized();
+        tasks.poll().run();
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> ticket.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause().getCause());
+        assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertTrue(injector.whenInitialized().isDone());
+        assertFalse(injector.whenInitialized().isCompletedExceptionally());
+    }
+
+    @Test
+    public void testFailureBeforeResolveAsyncLooksUpTheBean() {
+        Injector injector = new Injector(new Configuration()
+                .setAutoDetectComponents(false)
+                .setInitializationExecutor(Runnable::run));
+        injector.register(VoidTicket.class);
+
+        // The initializer fails and unlists the ticket before the lookup
+        CompletableFuture<VoidTicket> ticket = injector.resolveAsync(VoidTicket.class);
+        assertTrue(ticket.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testAsyncPostConstructResolvingItsOwnBean() throws Exception {
+        Injector injector = new Injector(new Configuration().setAutoDetectComponents(false));
+        injector.register(Mirror.class);
+        Mirror.injector = injector;
+        try {
+            Mirror mirror = injector.resolveAsync(Mirror.class).get(5, TimeUnit.SECONDS);
+            assertSame(mirror, mirror.reflection);
+        } finally {
+            Mirror.injector = null;
+            injector.destroy();
+        }
+    }
+
+    @Test
+    public void testAsyncPostConstructResolvingBeanQueuedBehindIt() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Injector injector = new Injector(new Configuration()
+                .setAutoDetectComponents(false)
+                .setInitializationExecutor(executor));
+        injector.register(Warehouse.class);
+        injector.register(WarmCache.class);
+        Warehouse.injector = injector;
+        WarmCache.release = new CountDownLatch(0);
+        try {
+            Warehouse warehouse = injector.resolveAsync(Warehouse.class).get(5, TimeUnit.SECONDS);
+            assertTrue(warehouse.cache.warmed);
+        } finally {
+            Warehouse.injector = null;
+            injector.destroy();
+            executor.shutdown();
+        }
+    }
+
     @Test
     void testCircularDependencyWithSupplier() {
         Injector injector = new Injector(new Configuration());
 
-//        injector.registerSupplier(ServiceA.class, () -> {
-//            ServiceB b = injector.resolve(ServiceB.class);
-//            return new ServiceA(b);
-//        });
-//
-//        injector.registerSupplier(ServiceB.class, () -> {
-//            ServiceA a = injector.resolve(ServiceA.class); // Esto ahora lanzará RuntimeException
-//            return new ServiceB(a);
-//        });
-        assertThrows(RuntimeException.class, () -> injector.resolve(ServiceA.class));
+        injector.registerSupplier(ServiceA.class, () -> {
+            ServiceB b = injector.resolve(ServiceB.class);
+            return new ServiceA(b);
+        });
+
+        injector.registerSupplier(ServiceB.class, () -> {
+            ServiceA a = injector.resolve(ServiceA.class); // Esto ahora lanzará RuntimeException
+            return new ServiceB(a);
+        });
+        Exception exception = assertThrows(RuntimeException.class, () -> injector.resolve(ServiceA.class));
+        assertTrue(exception.getMessage().contains("ServiceA -> ServiceB -> ServiceA"),
+                "Mensaje real: " + exception.getMessage());
     }
 
     @Lazy
@@ -156,4 +661,321 @@ public class InjectorTest {
             this.a = a;
         }
     }
+
+    abstract static class BaseComponent {
+
+        @Value("${app.name}")
+        String appName;
+
+        boolean baseInitialized;
+
+        @PostConstruct
+        void initBase() {
+            baseInitialized = true;
+        }
+    }
+
+    @Lazy
+    @Component
+    static class DerivedComponent extends BaseComponent {
+    }
+
+    interface Named {
+    }
+
+    @Lazy
+    @Component
+    static class ProfiledDependency {
+
+        @PostConstruct
+        void init() throws InterruptedException {
+            Thread.sleep(100);
+        }
+    }
+
+    @Component
+    @Scope(ScopeType.REQUEST)
+    static class RequestBean {
+
+        boolean destroyed;
+
+        @PreDestroy
+        void destroy() {
+            destroyed = true;
+        }
+    }
+
+    @Component
+    @Scope(ScopeType.THREAD)
+    static class ThreadBean {
+
+        boolean destroyed;
+
+        @PreDestroy
+        void destroy() {
+            destroyed = true;
+        }
+    }
+
+    @Lazy
+    @Component
+    static class WarmCache {
+
+        static CountDownLatch release;
+        volatile boolean warmed;
+
+        @PostConstruct(async = true)
+        void warm() throws InterruptedException {
+            release.await();
+            warmed = true;
+        }
+    }
+
+    /**
+     * A prototype whose instances are all equal.
+     */
+    @Component
+    @Scope(ScopeType.PROTOTYPE)
+    static class Ticket {
+
+        volatile boolean initialized;
+
+        @PostConstruct(async = true)
+        void issue() {
+            initialized = true;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Ticket;
+        }
+
+        @Override
+        public int hashCode() {
+            return Ticket.class.hashCode();
+        }
+    }
+
+    /**
+     * A prototype whose asynchronous initialization always fails.
+     */
+    @Component
+    @Scope(ScopeType.PROTOTYPE)
+    static class VoidTicket {
+
+        @PostConstruct(async = true)
+        void issue() {
+            throw new IllegalStateException("Void ticket");
+        }
+    }
+
+    /**
+     * A bean whose asynchronous initialization resolves itself.
+     */
+    @Component
+    static class Mirror {
+
+        static Injector injector;
+        volatile Mirror reflection;
+
+        @PostConstruct(async = true)
+        void reflect() {
+            reflection = injector.resolve(Mirror.class);
+        }
+    }
+
+    /**
+     * A bean whose asynchronous initialization resolves another bean with
+     * asynchronous initialization.
+     */
+    @Component
+    static class Warehouse {
+
+        static Injector injector;
+        volatile WarmCache cache;
+
+        @PostConstruct(async = true)
+        void stock() {
+            cache = injector.resolve(WarmCache.class);
+        }
+    }
+
+    @Lazy
+    @Component
+    static class CacheClient {
+
+        @Inject
+        CompletableFuture<WarmCache> cache;
+    }
+
+    interface Catalog {
+
+        String item(int id);
+    }
+
+    @Lazy
+    @Component
+    static class SlowCatalog implements Catalog {
+
+        static int created;
+        private final String description = "catalog-" + System.nanoTime();
+
+        SlowCatalog() {
+            created++;
+        }
+
+        @Override
+        public String item(int id) {
+            return "item-" + id;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    @Lazy
+    @Component
+    static class PriceList {
+
+        static int created;
+
+        @PostConstruct
+        void init() {
+            created++;
+        }
+
+        long price(String item, long base) {
+            return base;
+        }
+    }
+
+    @Lazy
+    @Component
+    static class CatalogClient {
+
+        final Catalog catalog;
+
+        @Lazy
+        @Inject
+        PriceList prices;
+
+        @Inject
+        CatalogClient(@Lazy Catalog catalog) {
+            this.catalog = catalog;
+        }
+    }
+
+    @Component
+    @Pool(size = 2)
+    @Scope(ScopeType.POOLED)
+    static class PooledBuffer {
+
+        final StringBuilder content = new StringBuilder();
+        boolean destroyed;
+
+        @PoolReset
+        void reset() {
+            content.setLength(0);
+        }
+
+        @PreDestroy
+        void destroy() {
+            destroyed = true;
+        }
+    }
+
+    @Component
+    @Scope(name = "conversation")
+    static class ConversationBean {
+    }
+
+    /**
+     * Only unsatisfiable when registered without the rest of the package, so
+     * injectors scanning the package still validate.
+     */
+    @Lazy
+    @Component
+    static class GreeterClient {
+
+        @Inject
+        Greeter greeter;
+
+        @Inject
+        Supplier<ProfiledDependency> dependency;
+    }
+
+    interface Greeter extends Named {
+    }
+
+    abstract static class AbstractGreeter implements Greeter {
+    }
+
+    @Lazy
+    @Component
+    @Qualifier("english")
+    static class EnglishGreeter extends AbstractGreeter {
+    }
+
+    @Lazy
+    @Component
+    @Qualifier("german")
+    static class GermanGreeter extends AbstractGreeter {
+    }
+
+    @Lazy
+    @Primary
+    @Component
+    @Qualifier("french")
+    static class FrenchGreeter extends AbstractGreeter {
+    }
+
+    /**
+     * A registry from another compilation that lists only one component of
+     * the scanned package.
+     */
+    public static class LeafRegistry implements ComponentRegistry {
+
+        static final WaveLeafA CREATED = new WaveLeafA();
+
+        @Override
+        public List<ComponentFactory<?>> getFactories() {
+            return List.of(new ComponentFactory<WaveLeafA>() {
+                @Override
+                public Class<WaveLeafA> getType() {
+                    return WaveLeafA.class;
+                }
+
+                @Override
+                public String getQualifier() {
+                    return "waveleafa";
+                }
+
+                @Override
+                public boolean isSingleton() {
+                    return true;
+                }
+
+                @Override
+                public boolean isLazy() {
+                    return true;
+                }
+
+                @Override
+                public boolean isPrimary() {
+                    return false;
+                }
+
+                @Override
+                public WaveLeafA create(Injector injector) {
+                    return CREATED;
+                }
+
+                @Override
+                public void postConstruct(WaveLeafA bean) {
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package com.univsoftdev.di4j;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+import com.univsoftdev.di4j.waves.WaveLeafA;
+import com.univsoftdev.di4j.waves.WaveLeafB;
+import com.univsoftdev.di4j.waves.WaveRoot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class SingletonContentionTest {
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    /**
+     * Every slow singleton waits here until all of them are initializing,
+     * which only happens if their creations overlap.
+     */
+    private static volatile CyclicBarrier initializing;
+
+    @Test
+    public void testDistinctSingletonsAreCreatedInParallel() throws Exception {
+        Injector injector = new Injector(new Configuration()
+                .setLazyInit(true)
+                .setAutoDetectComponents(false));
+        List<Class<?>> types = List.of(SlowA.class, SlowB.class, SlowC.class, SlowD.class);
+        types.forEach(injector::register);
+        CREATED.set(0);
+        initializing = new CyclicBarrier(types.size());
+
+        int threads = types.size() * 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Class<?> type = types.get(i % types.size());
+                Callable<Object> task = () -> {
+                    start.await();
+                    return injector.resolve(type);
+                };
+                results.add(executor.submit(task));
+            }
+
+            start.countDown();
+            for (int i = 0; i < threads; i++) {
+                assertSame(injector.resolve(types.get(i % types.size())), results.get(i).get(10, TimeUnit.SECONDS));
+            }
+
+            // Each singleton is created once, and creation of unrelated keys overlaps
+            assertEquals(types.size(), CREATED.get());
+            assertFalse(initializing.isBroken(), "Singleton creation was serialized");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEagerSingletonsAreInitializedInDependencyWaves() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        // The three leaves form the first wave, so they reach the barrier together
+        CyclicBarrier leaves = new CyclicBarrier(3);
+        WaveRoot.leavesInitializing = leaves;
+        try {
+            Injector injector = new Injector(new Configuration()
+                    .setBasePackages("com.univsoftdev.di4j.waves")
+                    .setInitializationExecutor(executor));
+
+            WaveRoot root = injector.resolve(WaveRoot.class);
+            assertTrue(root.dependenciesInitialized, "A dependency was not initialized first");
+            assertSame(injector.resolve(WaveLeafA.class), root.a);
+            assertSame(injector.resolve(WaveLeafB.class), root.b);
+            assertFalse(leaves.isBroken(), "Eager singletons were created sequentially");
+        } finally {
+            WaveRoot.leavesInitializing = null;
+            executor.shutdownNow();
+        }
+    }
+
+    private static void slowInit() {
+        CREATED.incrementAndGet();
+        try {
+            initializing.await(5, TimeUnit.SECONDS);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException("Singleton creation was serialized", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Component
+    static class SlowA {
+
+        @PostConstruct
+        void init() {
+            slowInit();
+        }
+    }
+
+    @Component
+    static class SlowB {
+
+        @PostConstruct
+        void init() {
+            slowInit();
+        }
+    }
+
+    @Component
+    static class SlowC {
+
+        @PostConstruct
+        void init() {
+            slowInit();
+        }
+    }
+
+    @Component
+    static class SlowD {
+
+        @PostConstruct
+        void init() {
+            slowInit();
+        }
+    }
+}
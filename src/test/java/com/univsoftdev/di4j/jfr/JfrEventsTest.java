@@ -0,0 +1,61 @@
+package com.univsoftdev.di4j.jfr;
+
+import com.univsoftdev.di4j.BeanPostProcessor;
+import com.univsoftdev.di4j.Configuration;
+import com.univsoftdev.di4j.Injector;
+import com.univsoftdev.di4j.waves.WaveLeafA;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class JfrEventsTest {
+
+    @Test
+    public void testContainerActivityIsRecorded() throws Exception {
+        Path file = Files.createTempFile("di4j", ".jfr");
+        try (Recording recording = new Recording(JfrSettings.load())) {
+            recording.start();
+            Injector injector = new Injector(new Configuration()
+                    .setLazyInit(true)
+                    .setBasePackages("com.univsoftdev.di4j.waves"));
+            injector.addPostProcessor(new BeanPostProcessor() {
+            });
+            injector.resolve(WaveLeafA.class);
+            assertThrows(RuntimeException.class, () -> injector.resolveQualified(WaveLeafA.class, "missing"));
+            injector.destroy();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertRecorded(events, "com.univsoftdev.di4j.ComponentScan",
+                event -> event.getInt("components") == 4);
+        assertRecorded(events, "com.univsoftdev.di4j.BeanCreation",
+                event -> isWaveLeafA(event.getClass("beanType")) && "SINGLETON".equals(event.getString("scope")));
+        assertRecorded(events, "com.univsoftdev.di4j.BeanLookup",
+                event -> "missing".equals(event.getString("qualifier")) && event.getClass("beanType") == null);
+        assertRecorded(events, "com.univsoftdev.di4j.PostProcessor",
+                event -> "AFTER_INITIALIZATION".equals(event.getString("phase")));
+        assertRecorded(events, "com.univsoftdev.di4j.LifecycleCallback",
+                event -> isWaveLeafA(event.getClass("beanType")) && "PostConstruct".equals(event.getString("callback")));
+        assertRecorded(events, "com.univsoftdev.di4j.LifecycleCallback",
+                event -> "PreDestroy".equals(event.getString("callback")));
+    }
+
+    private static boolean isWaveLeafA(RecordedClass type) {
+        return type != null && WaveLeafA.class.getName().equals(type.getName());
+    }
+
+    private static void assertRecorded(List<RecordedEvent> events, String name, Predicate<RecordedEvent> condition) {
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals(name) && condition.test(event)),
+                "No matching " + name + " event");
+    }
+}
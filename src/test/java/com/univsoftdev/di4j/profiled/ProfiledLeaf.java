@@ -0,0 +1,19 @@
+package com.univsoftdev.di4j.profiled;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Lazy;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+
+/**
+ * A lazy singleton that is slow to initialize, so that it is only created
+ * as a dependency of {@link ProfiledRoot}.
+ */
+@Lazy
+@Component
+public class ProfiledLeaf {
+
+    @PostConstruct
+    void init() throws InterruptedException {
+        Thread.sleep(100);
+    }
+}
@@ -0,0 +1,21 @@
+package com.univsoftdev.di4j.profiled;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Inject;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+
+/**
+ * An eager singleton whose creation includes creating a slower dependency.
+ */
+@Component
+public class ProfiledRoot {
+
+    @Inject
+    public ProfiledRoot(ProfiledLeaf leaf) {
+    }
+
+    @PostConstruct
+    void init() throws InterruptedException {
+        Thread.sleep(50);
+    }
+}
@@ -0,0 +1,16 @@
+package com.univsoftdev.di4j.waves;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+
+@Component
+public class WaveLeafA {
+
+    volatile boolean initialized;
+
+    @PostConstruct
+    void init() throws InterruptedException {
+        WaveRoot.initializeLeaf();
+        initialized = true;
+    }
+}
@@ -0,0 +1,60 @@
+package com.univsoftdev.di4j.waves;
+
+import com.univsoftdev.di4j.annotations.Component;
+import com.univsoftdev.di4j.annotations.Inject;
+import com.univsoftdev.di4j.annotations.PostConstruct;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An eager singleton whose dependencies can only be created in an earlier
+ * initialization wave.
+ */
+@Component
+public class WaveRoot {
+
+    static final long INIT_MILLIS = 200;
+
+    /**
+     * When set, every leaf waits in its @PostConstruct until all three are
+     * initializing, so a test can prove that they are initialized together.
+     */
+    public static volatile CyclicBarrier leavesInitializing;
+
+    public final WaveLeafA a;
+    public final WaveLeafB b;
+    public final WaveLeafC c;
+    public volatile boolean dependenciesInitialized;
+
+    @Inject
+    public WaveRoot(WaveLeafA a, WaveLeafB b, WaveLeafC c) {
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    @PostConstruct
+    void init() throws InterruptedException {
+        dependenciesInitialized = a.initialized && b.initialized && c.initialized;
+        Thread.sleep(INIT_MILLIS);
+    }
+
+    /**
+     * Holds up the initialization of a leaf: on {@link #leavesInitializing}
+     * if it is set, or for {@link #INIT_MILLIS} otherwise.
+     */
+    static void initializeLeaf() throws InterruptedException {
+        CyclicBarrier barrier = leavesInitializing;
+        if (barrier == null) {
+            Thread.sleep(INIT_MILLIS);
+            return;
+        }
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException("The leaves were initialized one by one", e);
+        }
+    }
+}